@@ -0,0 +1,61 @@
+package sketcher.scheduling.algorithm;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AutoScheduling 단계별 처리량 벤치마크 (매칭 엔진 / 슬롯 길이는 application.properties 기본값, 엔진 비교는 MatchingEngineBenchmark)
+ * 실행 : ./gradlew jmh (-PjmhIncludes=AutoSchedulingBenchmark.sortToPriority 처럼 일부만 실행 가능)
+ * 파라미터 변경 : java -jar build/libs/scheduling-0.0.1-SNAPSHOT-jmh.jar -p managerSize=10000 -p hopeTimeMix=UNIFORM,DAYTIME
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AutoSchedulingBenchmark {
+
+    /* 매니저 수 */
+    @Param({"1000", "5000"})
+    int managerSize;
+
+    /* 희망시간 분포 : UNIFORM, DAYTIME */
+    @Param({"DAYTIME"})
+    String hopeTimeMix;
+
+    /* 시간별 예상 카드 수 : FLAT, PEAK */
+    @Param({"PEAK"})
+    String demandCurve;
+
+    BenchmarkFixture fixture;
+    AutoScheduling autoScheduling;
+    List<Manager> managers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new BenchmarkFixture(managerSize, hopeTimeMix, demandCurve);
+        autoScheduling = fixture.autoScheduling(MatchingEngineType.ITERATIVE_AUGMENTING_PATH, AutoScheduling.SLOT_MINUTES);
+
+        Random random = new Random(managerSize);
+        managers = new ArrayList<>(makeManagerNode().values());
+        for (Manager manager : managers) {
+            manager.setWeight(1 + random.nextInt(3));
+        }
+    }
+
+    @Benchmark
+    public ArrayList<ResultScheduling> runAlgorithm() {
+        return autoScheduling.runAlgorithm(fixture.userCode, fixture.userCurrentTime, fixture.hopeTimeList);
+    }
+
+    @Benchmark
+    public LinkedHashMap<Integer, Manager> makeManagerNode() {
+        return autoScheduling.makeManagerNode(new SchedulingContext(MatchingEngineType.ITERATIVE_AUGMENTING_PATH.create()),
+                fixture.userCode, fixture.userCurrentTime, fixture.hopeTimeList);
+    }
+
+    @Benchmark
+    public List<Manager> sortToPriority() {
+        return autoScheduling.sortToPriority(new ArrayList<>(managers), 2);
+    }
+}
@@ -0,0 +1,151 @@
+package sketcher.scheduling.algorithm;
+
+import sketcher.scheduling.domain.EstimatedNumOfCardsPerHour;
+import sketcher.scheduling.domain.PercentageOfManagerWeights;
+import sketcher.scheduling.object.HopeTime;
+import sketcher.scheduling.repository.EstimatedNumOfCardsPerHourRepository;
+import sketcher.scheduling.repository.PercentageOfManagerWeightsRepository;
+import sketcher.scheduling.service.RosterSnapshotService;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 벤치마크용 매니저 명단 / 예상 카드 수 / 가중치 비율 (DB 없이 메모리 스텁 저장소 사용 -> 순수 CPU 시간만 측정)
+ * hopeTimeMix : UNIFORM(시간대마다 50%), DAYTIME(오전/오후 위주)
+ * demandCurve : FLAT(일정), PEAK(점심/저녁 피크, 새벽 한산)
+ */
+class BenchmarkFixture {
+
+    final int[] userCode;
+    final int[] userCurrentTime;
+    final List<List<Integer>> hopeTimeList = new ArrayList<>();
+
+    private final String hopeTimeMix;
+    private final String demandCurve;
+    private final RosterSnapshot roster;
+    private final List<EstimatedNumOfCardsPerHour> cards = new ArrayList<>();
+    private final int totalCardValueAvg;
+
+    BenchmarkFixture(int managerSize, String hopeTimeMix, String demandCurve) {
+        this.hopeTimeMix = hopeTimeMix;
+        this.demandCurve = demandCurve;
+
+        Random random = new Random(managerSize);
+        userCode = new int[managerSize];
+        userCurrentTime = new int[managerSize];
+        RosterSnapshot.Builder rosterBuilder = RosterSnapshot.builder();
+        for (int i = 0; i < managerSize; i++) {
+            userCode[i] = i + 1;
+            userCurrentTime[i] = random.nextInt(Manager.TOTAL_ASSIGN_LIMIT);
+            List<Integer> startTimes = hopeTimesOf(random);
+            hopeTimeList.add(startTimes);
+            LocalDateTime joinDate = LocalDateTime.of(2020, 1, 1, 0, 0).plusHours(random.nextInt(2 * 365 * 24));
+            for (Integer startTime : startTimes) {
+                rosterBuilder.add(userCode[i], joinDate, startTime);
+            }
+        }
+        roster = rosterBuilder.build();
+
+        int totalCards = 0;
+        for (int time = 0; time < 24; time++) {
+            int numOfCards = (int) Math.round(AutoScheduling.MANAGER_DONE_REQUEST_AVG_PER_HOUR * managerSize / 24.0 * demandOf(time));
+            cards.add(new EstimatedNumOfCardsPerHour(time, numOfCards));
+            totalCards += numOfCards;
+        }
+        totalCardValueAvg = totalCards / 24;
+    }
+
+    /**
+     * 결과 캐시와 지표는 끈 상태로 생성
+     */
+    AutoScheduling autoScheduling(MatchingEngineType matchingEngineType, int slotMinutes) {
+        return new AutoScheduling(
+                new InMemoryRosterSnapshotService(roster),
+                stub(EstimatedNumOfCardsPerHourRepository.class, cards, totalCardValueAvg),
+                stub(PercentageOfManagerWeightsRepository.class, Collections.singletonList(new PercentageOfManagerWeights(1, 30, 40, 30)), null),
+                matchingEngineType, AutoScheduling.LOCAL_SEARCH_ITERATIONS, SolveResultCache.disabled(), slotMinutes, SchedulingMetrics.disabled());
+    }
+
+    /**
+     * 첫 요일 첫 시간대(오전)의 스케줄 노드 (매칭은 노드 / 매니저 상태를 바꾸므로 호출마다 새로 만든다)
+     */
+    List<Schedule> firstBand(AutoScheduling autoScheduling, SchedulingContext context) {
+        autoScheduling.prepareBand(context);
+        return context.getScheduleListsByDay().get(0).get(0);
+    }
+
+    private List<Integer> hopeTimesOf(Random random) {
+        List<Integer> startTimes = new ArrayList<>();
+        for (HopeTime hopeTime : HopeTime.values()) {
+            if (random.nextDouble() < hopeProbabilityOf(hopeTime)) {
+                startTimes.add(hopeTime.getStart_time());
+            }
+        }
+        if (startTimes.isEmpty()) {
+            startTimes.add(HopeTime.values()[random.nextInt(HopeTime.values().length)].getStart_time());
+        }
+        return startTimes;
+    }
+
+    private double hopeProbabilityOf(HopeTime hopeTime) {
+        if (!"DAYTIME".equals(hopeTimeMix)) return 0.5;
+        switch (hopeTime) {
+            case MORNING:
+            case AFTERNOON:
+                return 0.8;
+            case EVENING:
+                return 0.4;
+            default:
+                return 0.1;
+        }
+    }
+
+    private double demandOf(int time) {
+        if (!"PEAK".equals(demandCurve)) return 1.0;
+        if (time < 6) return 0.3;
+        if (time == 12 || time == 13 || time == 18 || time == 19) return 2.0;
+        return 1.0;
+    }
+
+    /**
+     * findAll / totalCardValueAvg 만 응답하는 저장소 스텁
+     */
+    private static <T> T stub(Class<T> repositoryType, List<?> all, Integer totalCardValueAvg) {
+        return repositoryType.cast(Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findAll":
+                            return all;
+                        case "totalCardValueAvg":
+                            return totalCardValueAvg;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return repositoryType.getSimpleName() + "Stub";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                }));
+    }
+
+    private static class InMemoryRosterSnapshotService extends RosterSnapshotService {
+        private final RosterSnapshot roster;
+
+        InMemoryRosterSnapshotService(RosterSnapshot roster) {
+            super(null, null);
+            this.roster = roster;
+        }
+
+        @Override
+        public RosterSnapshot getSnapshot() {
+            return roster;
+        }
+    }
+}
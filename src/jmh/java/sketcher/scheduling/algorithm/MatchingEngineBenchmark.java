@@ -0,0 +1,61 @@
+package sketcher.scheduling.algorithm;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 매칭 엔진 x 배정 슬롯 길이 비교 (슬롯 수에 비례해 시간이 늘어나는지 확인)
+ * 실행 : ./gradlew jmh -PjmhIncludes=MatchingEngineBenchmark
+ * 파라미터 변경 : java -jar build/libs/scheduling-0.0.1-SNAPSHOT-jmh.jar MatchingEngineBenchmark -p matchingEngine=MIN_COST_FLOW -p managerSize=5000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MatchingEngineBenchmark {
+
+    @Param({"AUGMENTING_PATH", "ITERATIVE_AUGMENTING_PATH", "HOPCROFT_KARP", "MIN_COST_FLOW"})
+    MatchingEngineType matchingEngine;
+
+    /* 배정 슬롯 길이(분) */
+    @Param({"60", "30", "15"})
+    int slotMinutes;
+
+    @Param({"1000"})
+    int managerSize;
+
+    BenchmarkFixture fixture;
+    AutoScheduling autoScheduling;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new BenchmarkFixture(managerSize, "DAYTIME", "PEAK");
+        autoScheduling = fixture.autoScheduling(matchingEngine, slotMinutes);
+    }
+
+    /* 일주일(7일 x 4시간대) 배정 */
+    @Benchmark
+    public List<ArrayList<ResultScheduling>> runWeekAlgorithm() {
+        return autoScheduling.runWeekAlgorithm(fixture.userCode, fixture.userCurrentTime, fixture.hopeTimeList, AutoScheduling.DAYS_OF_WEEK);
+    }
+
+    @Benchmark
+    public int bipartiteMatching(MatchingInput input) {
+        return autoScheduling.bipartiteMatching(input.context, input.scheduleList, Deadline.NONE);
+    }
+
+    @State(Scope.Thread)
+    public static class MatchingInput {
+        SchedulingContext context;
+        List<Schedule> scheduleList;
+
+        @Setup(Level.Invocation)
+        public void setUp(MatchingEngineBenchmark benchmark) {
+            BenchmarkFixture fixture = benchmark.fixture;
+            context = benchmark.autoScheduling.prepareWeek(fixture.userCode, fixture.userCurrentTime, fixture.hopeTimeList, 1);
+            scheduleList = fixture.firstBand(benchmark.autoScheduling, context);
+        }
+    }
+}
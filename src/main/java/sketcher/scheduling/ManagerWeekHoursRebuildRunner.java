@@ -0,0 +1,26 @@
+package sketcher.scheduling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import sketcher.scheduling.service.ManagerWeekHoursService;
+
+/**
+ * manager_week_hours 집계를 배정 스케줄 전체에서 다시 만든다. (scheduling.week-hours.rebuild=true 일 때만 시작 시 한 번 실행)
+ * 집계 테이블을 처음 배포할 때나 SQL 로 배정 스케줄을 직접 고쳤을 때 사용
+ * ex) java -jar scheduling.jar --scheduling.week-hours.rebuild=true
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "scheduling.week-hours", name = "rebuild", havingValue = "true")
+public class ManagerWeekHoursRebuildRunner implements ApplicationRunner {
+
+    private final ManagerWeekHoursService managerWeekHoursService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        managerWeekHoursService.rebuild();
+    }
+}
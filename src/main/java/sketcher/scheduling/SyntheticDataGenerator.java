@@ -0,0 +1,189 @@
+package sketcher.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+import sketcher.scheduling.algorithm.AutoScheduling;
+import sketcher.scheduling.algorithm.Manager;
+import sketcher.scheduling.object.HopeTime;
+import sketcher.scheduling.service.ManagerWeekHoursService;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * 규모 테스트용 가상 데이터 생성 (scheduling.generator.enabled=true 일 때만 실행)
+ * 매니저 N명 + 희망시간 + 입사일, 시간별 예상 카드 수, 지난 M주 배정 기록을 JDBC batch insert 로 넣는다.
+ * MySQL 은 url 에 rewriteBatchedStatements=true 를 붙여야 batch 가 한 번에 전송된다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "scheduling.generator", name = "enabled", havingValue = "true")
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_BLOCK_HOURS = 3;
+    private static final int MAX_ATTEMPTS = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ManagerWeekHoursService managerWeekHoursService;
+    private final int numOfManagers;
+    private final int numOfHistoryWeeks;
+    private final Random random;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate,
+                                  ManagerWeekHoursService managerWeekHoursService,
+                                  @Value("${scheduling.generator.managers:1000}") int numOfManagers,
+                                  @Value("${scheduling.generator.history-weeks:4}") int numOfHistoryWeeks,
+                                  @Value("${scheduling.generator.seed:20220701}") long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.managerWeekHoursService = managerWeekHoursService;
+        this.numOfManagers = numOfManagers;
+        this.numOfHistoryWeeks = numOfHistoryWeeks;
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        String prefix = "gen" + System.currentTimeMillis() + "_";
+
+        List<Integer> codes = insertManagers(prefix);
+        Map<Integer, List<HopeTime>> hopeTimesByCode = insertHopeTimes(codes);
+        insertCards();
+        insertPercentage();
+        long assignRows = insertHistory(hopeTimesByCode);
+        managerWeekHoursService.rebuild();     // 배정 기록을 SQL 로 직접 넣었으므로 주 배정 시간 집계를 다시 만든다
+
+        log.info("synthetic data : managers={}, hopeTimes={}, assignSchedules={}, {}ms",
+                codes.size(), hopeTimesByCode.values().stream().mapToInt(List::size).sum(), assignRows,
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    /**
+     * 매니저 입사일은 최근일수록 많게 (최근 3년)
+     */
+    private List<Integer> insertManagers(String prefix) {
+        String password = new BCryptPasswordEncoder().encode("12345");
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        List<Object[]> rows = new ArrayList<>(numOfManagers);
+        for (int i = 0; i < numOfManagers; i++) {
+            LocalDateTime joinDate = now.minusMinutes((long) (3 * 365 * 24 * 60 * Math.pow(random.nextDouble(), 2)));
+            rows.add(new Object[]{prefix + i, "MANAGER", password, "매니저" + i, "010-0000-0000",
+                    Timestamp.valueOf(joinDate), 5.0, "N", "N"});
+        }
+        batchInsert("insert into user (user_id, auth_role, user_pw, user_name, user_tel, user_joindate, manager_score, dropout_req_check, vacation_req_check)" +
+                " values (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        return jdbcTemplate.queryForList("select user_code from user where user_id like ? order by user_code", Integer.class, prefix + "%");
+    }
+
+    /**
+     * 오전 / 오후 희망이 많고 새벽 희망은 적게, 최소 한 시간대
+     */
+    private Map<Integer, List<HopeTime>> insertHopeTimes(List<Integer> codes) {
+        Map<Integer, List<HopeTime>> hopeTimesByCode = new LinkedHashMap<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (Integer code : codes) {
+            List<HopeTime> hopeTimes = new ArrayList<>();
+            for (HopeTime hopeTime : HopeTime.values()) {
+                if (random.nextDouble() < hopeProbabilityOf(hopeTime)) hopeTimes.add(hopeTime);
+            }
+            if (hopeTimes.isEmpty()) hopeTimes.add(HopeTime.values()[random.nextInt(HopeTime.values().length)]);
+            for (HopeTime hopeTime : hopeTimes) {
+                rows.add(new Object[]{hopeTime.getStart_time(), hopeTime.getFinish_time(), code});
+            }
+            hopeTimesByCode.put(code, hopeTimes);
+        }
+        batchInsert("insert into manager_hope_time (start_time, finish_time, user_code) values (?, ?, ?)", rows);
+        return hopeTimesByCode;
+    }
+
+    private double hopeProbabilityOf(HopeTime hopeTime) {
+        switch (hopeTime) {
+            case MORNING:
+            case AFTERNOON:
+                return 0.6;
+            case EVENING:
+                return 0.45;
+            default:
+                return 0.15;
+        }
+    }
+
+    /**
+     * 시간별 예상 카드 수 : 매니저 수에 맞춘 기본 수요 + 점심 / 저녁 피크, 새벽은 한산
+     * (예상 카드 수 테이블은 요일 구분 없이 시간(0~23)만 가지므로 24개 행을 다시 만든다)
+     */
+    private void insertCards() {
+        jdbcTemplate.update("delete from estimated_num_of_cards_per_hour");
+        List<Object[]> rows = new ArrayList<>();
+        double base = AutoScheduling.MANAGER_DONE_REQUEST_AVG_PER_HOUR * numOfManagers / 24.0;
+        for (int time = 0; time < 24; time++) {
+            double factor = time < 6 ? 0.3 : (time == 12 || time == 13 || time == 18 || time == 19) ? 2.0 : 1.0;
+            double noise = 0.9 + random.nextDouble() * 0.2;
+            rows.add(new Object[]{time, (int) Math.round(base * factor * noise)});
+        }
+        batchInsert("insert into estimated_num_of_cards_per_hour (time, num_of_cards) values (?, ?)", rows);
+    }
+
+    private void insertPercentage() {
+        Integer count = jdbcTemplate.queryForObject("select count(*) from percentage_of_manager_weights", Integer.class);
+        if (count != null && count == 0) {
+            jdbcTemplate.update("insert into percentage_of_manager_weights (id, high, middle, low) values (1, 30, 40, 30)");
+        }
+    }
+
+    /**
+     * 지난 M주 배정 기록 : 매니저마다 주 0~10시간, 하루 최대 3시간을 희망시간대 안에서 연속 블록으로 배정
+     */
+    private long insertHistory(Map<Integer, List<HopeTime>> hopeTimesByCode) {
+        String sql = "insert into manager_assign_schedule (user_code, schedule_date_time_start, schedule_date_time_end) values (?, ?, ?)";
+        LocalDateTime thisWeek = LocalDate.now().minusDays(LocalDate.now().getDayOfWeek().getValue() - 1).atStartOfDay();
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        long count = 0;
+        for (int week = numOfHistoryWeeks; week >= 1; week--) {
+            LocalDateTime weekStart = thisWeek.minusWeeks(week);
+            for (Map.Entry<Integer, List<HopeTime>> entry : hopeTimesByCode.entrySet()) {
+                int[] dayHours = new int[AutoScheduling.DAYS_OF_WEEK];
+                int[] dayMask = new int[AutoScheduling.DAYS_OF_WEEK];     // 요일별 배정된 시간 비트 (겹치지 않게)
+                int weekHours = random.nextInt(Manager.TOTAL_ASSIGN_LIMIT + 1);
+                for (int attempt = 0; weekHours > 0 && attempt < MAX_ATTEMPTS; attempt++) {
+                    int day = random.nextInt(AutoScheduling.DAYS_OF_WEEK);
+                    int hours = Math.min(weekHours, Math.min(1 + random.nextInt(MAX_BLOCK_HOURS), Manager.DAY_ASSIGN_LIMIT - dayHours[day]));
+                    if (hours <= 0) continue;
+                    HopeTime hopeTime = entry.getValue().get(random.nextInt(entry.getValue().size()));
+                    int startTime = hopeTime.getStart_time() + random.nextInt(hopeTime.getFinish_time() - hopeTime.getStart_time() - hours + 1);
+                    int mask = ((1 << hours) - 1) << startTime;
+                    if ((dayMask[day] & mask) != 0) continue;
+
+                    LocalDateTime start = weekStart.plusDays(day).plusHours(startTime);
+                    rows.add(new Object[]{entry.getKey(), Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(hours))});
+                    dayMask[day] |= mask;
+                    dayHours[day] += hours;
+                    weekHours -= hours;
+                    if (rows.size() == BATCH_SIZE) {
+                        count += batchInsert(sql, rows);
+                        rows.clear();
+                    }
+                }
+            }
+        }
+        return count + batchInsert(sql, rows);
+    }
+
+    private int batchInsert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE)));
+        }
+        return rows.size();
+    }
+}
@@ -0,0 +1,94 @@
+package sketcher.scheduling.algorithm;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 스케줄 노드 - 매니저 이분매칭 (증가 경로 탐색)
+ * 스케줄 노드는 필요 인원(capacity)만큼 좌석을 가지며, 한 노드의 빈 좌석을 한 번에 이어서 채운다.
+ * 한 번의 증가 경로 탐색에서 스케줄 노드와 매니저는 각각 최대 한 번만 방문한다.
+ * 기존 firstDFS 와 같이 동시간대에 이미 배정된 매니저는 건너뛴다. (그 매니저의 기존 좌석을 다른 매니저에게 넘기지 않음)
+ * 방문 여부는 epoch 값으로 표시하므로 라운드마다 배열을 초기화하지 않는다. -> O(V·E)
+ */
+public class AugmentingPathMatcher implements MatchingEngine {
+
+    private ManagerPriority managerPriority;
+    private int[] scheduleVisited = new int[0];
+    private int[] managerVisited = new int[0];
+    private int epoch = 0;
+    private final MatchingStats stats = new MatchingStats();
+
+    @Override
+    public int match(List<Schedule> scheduleList, List<Manager> managerList, Deadline deadline) {
+        stats.reset();
+        managerPriority = new ManagerPriority(managerList);
+        ensureCapacity(scheduleList, managerList);
+
+        int count = 0;
+        for (Schedule scheduleNode : scheduleList) {
+            while (scheduleNode.hasRoom() && !deadline.isExpired()) {
+                epoch++;
+                if (!dfs(scheduleNode)) break;    // 더 채울 수 없는 노드
+                count++;   //매칭 개수
+            }
+        }
+        stats.augmentations += count;
+        return count;
+    }
+
+    @Override
+    public MatchingStats getStats() {
+        return stats;
+    }
+
+    private boolean dfs(Schedule scheduleNode) {
+        scheduleVisited[scheduleNode.getId()] = epoch;
+        stats.dfsCalls++;
+
+        /* 우선순위 순서 - 증가 경로 끝에서 한 명만 배정 시간이 늘어나므로 순회 중에는 바뀌지 않는다 */
+        for (Manager manager : managerPriority.orderOf(scheduleNode.getWeight())) {
+            if (managerVisited[manager.getIndex()] == epoch) {
+                continue;
+            }
+            if (scheduleNode.isManagerWeightFlag() && manager.getWeight() != 3) {
+                stats.rejectedByM3Only++;
+                continue;                                   //조건3. managerWeightFlag가 true라면 매니저는 반드시 M3여야 함
+            }
+            managerVisited[manager.getIndex()] = epoch;
+
+            if (manager.findScheduleBySlot(scheduleNode.getSlot()) != null) {   // 이미 해당 매니저가 동시간대에 배정되어 있으면 제외 (기존 firstDFS 와 동일)
+                stats.rejectedBySlotConflict++;
+                continue;
+            }
+            if (!manager.isAssignableMoreTime()) {           // 조건1, 2. 하루/현재 배정 시간 상한
+                stats.rejectedByAssignLimit++;
+                continue;
+            }
+
+            manager.updateAssignScheduleList(null, scheduleNode);
+            scheduleNode.assign(manager);
+            managerPriority.reposition(manager);
+            return true;
+        }
+        stats.backtracks++;
+        return false;
+    }
+
+    private void ensureCapacity(List<Schedule> scheduleList, List<Manager> managerList) {
+        int maxScheduleId = 0;
+        for (Schedule schedule : scheduleList) {
+            maxScheduleId = Math.max(maxScheduleId, schedule.getId());
+        }
+        if (scheduleVisited.length <= maxScheduleId) {
+            scheduleVisited = Arrays.copyOf(scheduleVisited, maxScheduleId + 1);
+        }
+
+        int maxManagerIndex = -1;
+        for (Manager manager : managerList) {
+            maxManagerIndex = Math.max(maxManagerIndex, manager.getIndex());
+        }
+        if (managerVisited.length <= maxManagerIndex) {
+            managerVisited = Arrays.copyOf(managerVisited, maxManagerIndex + 1);
+        }
+    }
+}
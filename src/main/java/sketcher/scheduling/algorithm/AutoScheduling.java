@@ -1,134 +1,540 @@
 package sketcher.scheduling.algorithm;
 
-import com.querydsl.core.Tuple;
-import lombok.RequiredArgsConstructor;
 import sketcher.scheduling.domain.EstimatedNumOfCardsPerHour;
 import sketcher.scheduling.domain.PercentageOfManagerWeights;
 import sketcher.scheduling.object.HopeTime;
 import sketcher.scheduling.repository.EstimatedNumOfCardsPerHourRepository;
 import sketcher.scheduling.repository.PercentageOfManagerWeightsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import sketcher.scheduling.service.UserService;
+import sketcher.scheduling.service.RosterSnapshotService;
 
+import javax.annotation.PostConstruct;
 import java.util.*;
 
-import static sketcher.scheduling.domain.QUser.user;
-
-
+/**
+ * 스케줄 자동 배정
+ * 빈 자체는 상태를 갖지 않으며, 실행마다 필요한 값은 SchedulingContext 에 담는다. -> 동시에 여러 요청을 처리해도 안전
+ */
 @Component
-@RequiredArgsConstructor
 public class AutoScheduling {
 
-    private final UserService userService;
+    private final RosterSnapshotService rosterSnapshotService;
     private final EstimatedNumOfCardsPerHourRepository estimatedNumOfCardsPerHourRepository;
     private final PercentageOfManagerWeightsRepository percentageOfManagerWeightsRepository;
+    private final MatchingEngineType matchingEngineType;
+    private final int localSearchIterations;
+    private final SolveResultCache solveResultCache;
+    private final int slotsPerHour;
+    private final SchedulingMetrics schedulingMetrics;
 
     //    public static final double FIXED_M3_RATIO = 0.3;
     public static final int MANAGER_DONE_REQUEST_AVG_PER_HOUR = 50;
 
-    List<Manager> managerList = new ArrayList<>();
-    List<Schedule> scheduleListByDAWN = new ArrayList<>();
-    List<Schedule> scheduleListByMORNING = new ArrayList<>();
-    List<Schedule> scheduleListByAFTERNOON = new ArrayList<>();
-    List<Schedule> scheduleListByEVENING = new ArrayList<>();
-    double totalCardValueAvg;
+    public static final int DAYS_OF_WEEK = 7;
+    public static final int LOCAL_SEARCH_ITERATIONS = 0;   // 지역 탐색은 scheduling.local-search.iterations 를 지정했을 때만
+    public static final int SLOT_MINUTES = 60;
+    /* 스케줄링 배정 사이클 순서 : B타임 -> C타임 -> D타임 -> A타임 */
+    private static final HopeTime[] SCHEDULING_ORDER = {HopeTime.MORNING, HopeTime.AFTERNOON, HopeTime.EVENING, HopeTime.DAWN};
+
+    /**
+     * @param slotMinutes 배정 슬롯 길이 (60, 30, 15 처럼 60을 나누어떨어지게 하는 분)
+     */
+    @Autowired
+    public AutoScheduling(RosterSnapshotService rosterSnapshotService,
+                          EstimatedNumOfCardsPerHourRepository estimatedNumOfCardsPerHourRepository,
+                          PercentageOfManagerWeightsRepository percentageOfManagerWeightsRepository,
+                          @Value("${scheduling.matching-engine:AUGMENTING_PATH}") MatchingEngineType matchingEngineType,
+                          @Value("${scheduling.local-search.iterations:" + LOCAL_SEARCH_ITERATIONS + "}") int localSearchIterations,
+                          SolveResultCache solveResultCache,
+                          @Value("${scheduling.slot-minutes:" + SLOT_MINUTES + "}") int slotMinutes,
+                          SchedulingMetrics schedulingMetrics) {
+        if (slotMinutes <= 0 || 60 % slotMinutes != 0) {
+            throw new IllegalArgumentException("scheduling.slot-minutes 는 60을 나누어떨어지게 해야 합니다 : " + slotMinutes);
+        }
+        this.rosterSnapshotService = rosterSnapshotService;
+        this.estimatedNumOfCardsPerHourRepository = estimatedNumOfCardsPerHourRepository;
+        this.percentageOfManagerWeightsRepository = percentageOfManagerWeightsRepository;
+        this.matchingEngineType = matchingEngineType;
+        this.localSearchIterations = localSearchIterations;
+        this.solveResultCache = solveResultCache;
+        this.slotsPerHour = 60 / slotMinutes;
+        this.schedulingMetrics = schedulingMetrics;
+    }
 
-    double fixedM3Ratio = 0;
-    int numOfCreatedScheduleNode = 0;
+    /**
+     * 배정 화면(시간 단위 표), 배정 저장, 주 배정 시간 집계, 휴직 보수는 모두 한 시간 단위이므로 애플리케이션은 60분 슬롯으로만 시작한다.
+     * 30 / 15분 슬롯은 AutoScheduling 을 직접 만드는 엔진 비교(벤치마크, 테스트)에서만 쓴다.
+     */
+    @PostConstruct
+    void checkSlotMinutesForCalendar() {
+        if (slotsPerHour != 1) {
+            throw new IllegalStateException("배정 화면과 저장은 한 시간 단위라 scheduling.slot-minutes 는 60 이어야 합니다 : " + 60 / slotsPerHour);
+        }
+    }
 
     public ArrayList<ResultScheduling> runAlgorithm(int[] userCode, int[] userCurrentTime, List<List<Integer>> hopeTimeList) {
-        List<EstimatedNumOfCardsPerHour> cards = estimatedNumOfCardsPerHourRepository.findAll();
-        List<PercentageOfManagerWeights> percentage = percentageOfManagerWeightsRepository.findAll();
+        return runWeekAlgorithm(userCode, userCurrentTime, hopeTimeList, 1).get(0);
+    }
 
-        LinkedHashMap<Integer, Manager> managerNodes = makeManagerNode(userCode, userCurrentTime, hopeTimeList);
+    /**
+     * 입력값(예상 카드 수, 매니저 가중치 비율, 매니저 명단 스냅샷)을 한 번만 읽고
+     * numOfDays 일치 스케줄을 한 번에 배정한다. 현재 배정 시간은 날짜가 바뀌어도 메모리에서 이어진다.
+     *
+     * @return 요일별 배정 결과
+     */
+    public List<ArrayList<ResultScheduling>> runWeekAlgorithm(int[] userCode, int[] userCurrentTime, List<List<Integer>> hopeTimeList, int numOfDays) {
+        SchedulingContext context = prepareWeek(userCode, userCurrentTime, hopeTimeList, numOfDays);
+        solve(context, Deadline.NONE);
+        return results(context);
+    }
 
-        totalCardValueAvg = estimatedNumOfCardsPerHourRepository.totalCardValueAvg();
+    /**
+     * 입력값을 읽어 배정을 시작할 컨텍스트를 만든다. (아직 배정하지 않음)
+     */
+    public SchedulingContext prepareWeek(int[] userCode, int[] userCurrentTime, List<List<Integer>> hopeTimeList, int numOfDays) {
+        return prepareWeek(userCode, userCurrentTime, hopeTimeList, numOfDays, Collections.emptyMap());
+    }
 
-        List<EstimatedNumOfCardsPerHour> cardsByDAWN = new ArrayList<>();
-        List<EstimatedNumOfCardsPerHour> cardsByMORNING = new ArrayList<>();
-        List<EstimatedNumOfCardsPerHour> cardsByAFTERNOON = new ArrayList<>();
-        List<EstimatedNumOfCardsPerHour> cardsByEVENING = new ArrayList<>();
+    /**
+     * 지난주 배정(슬롯별 매니저 코드)을 초기 매칭으로 쓰는 컨텍스트
+     * 희망시간 / 배정 시간 상한 / M3 고정 조건을 여전히 만족하는 배정은 그대로 두고, 남은 좌석만 새로 배정한다.
+     * 입력값이 같은 배정을 이미 마쳤다면 그 컨텍스트(배정 완료 상태)를 그대로 돌려준다.
+     */
+    public SchedulingContext prepareWeek(int[] userCode, int[] userCurrentTime, List<List<Integer>> hopeTimeList, int numOfDays,
+                                         Map<Integer, List<Integer>> previousWeekBySlot) {
+        return prepareWeek(userCode, userCurrentTime, hopeTimeList, numOfDays, previousWeekBySlot, Collections.emptyMap());
+    }
 
+    /**
+     * @param savedHoursByCode 매니저 코드 -> 그 주에 이미 저장된 배정 시간
+     *                         (주 배정 상한에는 포함하고, 결과의 현재 배정 시간은 userCurrentTime 에 이번에 배정한 시간만 더한 값)
+     */
+    public SchedulingContext prepareWeek(int[] userCode, int[] userCurrentTime, List<List<Integer>> hopeTimeList, int numOfDays,
+                                         Map<Integer, List<Integer>> previousWeekBySlot, Map<Integer, Long> savedHoursByCode) {
+        List<EstimatedNumOfCardsPerHour> cards = estimatedNumOfCardsPerHourRepository.findAll();
+        List<PercentageOfManagerWeights> percentage = percentageOfManagerWeightsRepository.findAll();
+        Integer totalCardValueAvg = estimatedNumOfCardsPerHourRepository.totalCardValueAvg();
+        long rosterLoadStart = System.nanoTime();
+        RosterSnapshot roster = rosterSnapshotService.getSnapshot();
+        schedulingMetrics.recordPhase("roster_load", SchedulingMetrics.ALL_BANDS, roster.size(), rosterLoadStart);
+
+        String inputFingerprint = fingerprintOf(userCode, userCurrentTime, hopeTimeList, numOfDays, previousWeekBySlot,
+                savedHoursByCode, cards, percentage, totalCardValueAvg, roster);
+        Optional<SchedulingContext> solved = solveResultCache.find(inputFingerprint);
+        if (solved.isPresent()) {
+            return solved.get();
+        }
 
+        SchedulingContext context = new SchedulingContext(matchingEngineType.create());
+        context.setInputFingerprint(inputFingerprint);
+        context.setSlotsPerHour(slotsPerHour);
+        context.setSavedHoursByCode(savedHoursByCode);
+        context.setManagerNodes(makeManagerNode(context, userCode, userCurrentTime, hopeTimeList));
+        context.setPercentage(percentage);
+        context.setTotalCardValueAvg(totalCardValueAvg);
+        context.setRoster(roster);
+        context.setNumOfDays(numOfDays);
+        context.setWarmStartBySlot(previousWeekBySlot);
+
+        EnumMap<HopeTime, List<EstimatedNumOfCardsPerHour>> cardsByHopeTime = new EnumMap<>(HopeTime.class);
+        for (HopeTime hopeTime : HopeTime.values()) {
+            cardsByHopeTime.put(hopeTime, new ArrayList<>());
+        }
         for (EstimatedNumOfCardsPerHour card : cards) {
-            if (HopeTime.DAWN.getStart_time() <= card.getTime() && card.getTime() < HopeTime.DAWN.getFinish_time()) {
-                cardsByDAWN.add(card);
-            } else if (HopeTime.MORNING.getStart_time() <= card.getTime() && card.getTime() < HopeTime.MORNING.getFinish_time()) {
-                cardsByMORNING.add(card);
-            } else if (HopeTime.AFTERNOON.getStart_time() <= card.getTime() && card.getTime() < HopeTime.AFTERNOON.getFinish_time()) {
-                cardsByAFTERNOON.add(card);
-            } else if (HopeTime.EVENING.getStart_time() <= card.getTime() && card.getTime() < HopeTime.EVENING.getFinish_time()) {
-                cardsByEVENING.add(card);
+            for (HopeTime hopeTime : HopeTime.values()) {
+                if (hopeTime.getStart_time() <= card.getTime() && card.getTime() < hopeTime.getFinish_time()) {
+                    cardsByHopeTime.get(hopeTime).add(card);
+                    break;
+                }
             }
         }
+        context.setCardsByHopeTime(cardsByHopeTime);
+        return context;
+    }
+
+    /**
+     * 배정 결과를 바꾸는 입력값 전부 : 매칭 엔진 / 슬롯 길이 설정, 매니저(코드, 현재 배정 시간, 저장된 배정 시간, 희망시간), 지난주 배정,
+     * 예상 카드 수, 가중치 비율, 매니저 명단(입사일 순서, 희망시간)
+     */
+    private String fingerprintOf(int[] userCode, int[] userCurrentTime, List<List<Integer>> hopeTimeList, int numOfDays,
+                                 Map<Integer, List<Integer>> previousWeekBySlot, Map<Integer, Long> savedHoursByCode,
+                                 List<EstimatedNumOfCardsPerHour> cards,
+                                 List<PercentageOfManagerWeights> percentage, Integer totalCardValueAvg, RosterSnapshot roster) {
+        InputFingerprint fingerprint = new InputFingerprint()
+                .add(matchingEngineType.name()).add(localSearchIterations).add(slotsPerHour).add(numOfDays);
+
+        fingerprint.add(userCode.length);
+        for (int i = 0; i < userCode.length; i++) {
+            fingerprint.add(userCode[i]).add(userCurrentTime[i]).add(savedHoursByCode.getOrDefault(userCode[i], 0L))
+                    .add(hopeTimeList.get(i).size());
+            for (Integer startTime : hopeTimeList.get(i)) {
+                fingerprint.add(startTime);
+            }
+        }
+
+        fingerprint.add(previousWeekBySlot.size());
+        for (Map.Entry<Integer, List<Integer>> entry : new TreeMap<>(previousWeekBySlot).entrySet()) {
+            fingerprint.add(entry.getKey()).add(entry.getValue().size());
+            for (Integer code : entry.getValue()) {
+                fingerprint.add(code);
+            }
+        }
+
+        List<EstimatedNumOfCardsPerHour> sortedCards = new ArrayList<>(cards);
+        sortedCards.sort(Comparator.comparing(EstimatedNumOfCardsPerHour::getTime));
+        fingerprint.add(sortedCards.size()).add(totalCardValueAvg == null ? -1 : totalCardValueAvg);
+        for (EstimatedNumOfCardsPerHour card : sortedCards) {
+            fingerprint.add(card.getTime()).add(card.getNumOfCards());
+        }
 
+        List<PercentageOfManagerWeights> sortedPercentage = new ArrayList<>(percentage);
+        sortedPercentage.sort(Comparator.comparing(PercentageOfManagerWeights::getId));
+        fingerprint.add(sortedPercentage.size());
+        for (PercentageOfManagerWeights weights : sortedPercentage) {
+            fingerprint.add(weights.getId()).add(weights.getHigh()).add(weights.getMiddle()).add(weights.getLow());
+        }
+
+        fingerprint.add(roster.size());
+        for (int i = 0; i < roster.size(); i++) {
+            fingerprint.add(roster.codeAt(i)).add(roster.hopeTimeMaskAt(i));
+        }
+        return fingerprint.toHex();
+    }
+
+    /**
+     * 남은 요일 / 시간대를 이어서 배정한다.
+     * 제한 시간이 지나면 진행 위치를 컨텍스트에 남기고 멈추므로, 같은 컨텍스트로 다시 호출하면 결과가 계속 개선된다.
+     *
+     * @return 모든 요일 배정을 마쳤는지 여부
+     */
+    public boolean solve(SchedulingContext context, Deadline deadline) {
+        return solve(context, deadline, BandResultListener.NONE);
+    }
+
+    /**
+     * 시간대 하나의 매칭과 지역 탐색이 끝날 때마다 그 시간대 결과를 listener 로 넘긴다.
+     * (지역 탐색이 같은 시간대 안에서 좌석을 옮기므로, 넘긴 결과는 이후에 바뀌지 않는다)
+     */
+    public boolean solve(SchedulingContext context, Deadline deadline, BandResultListener listener) {
         //1. SETUP  변수값 저장 makeManagerWeightAndHopeTime(managerNodes, HopeTime.DAWN, percentage);
         //2. 4가지 조건 고려 (가중치 점수 합산하는 함수를 작성)
         //(1) 매니저 가중치 (M1, M2, M3) - MANAGER클래스 내부에 함수 작성
         //(2) 매니저 현재 배정시간 - MANAGER클래스 내부에 함수 작성
         //(3) 매니저 희망시간 개수 (1,2,3,4) - MANAGER클래스 내부에 함수 작성 (고정)
         //(4) 이전 시간 배정 여부 (되면..)
+        synchronized (context) {
+            while (!context.isComplete()) {
+                if (!context.isBandPrepared()) {
+                    if (deadline.isExpired()) return false;
+                    prepareBand(context);
+                }
 
+                //4. 이분매칭(dfs)
+                List<List<Schedule>> scheduleListsOfDay = context.getScheduleListsByDay().get(context.getDay());
+                List<Schedule> scheduleList = scheduleListsOfDay.get(context.getBand());
+                String band = SCHEDULING_ORDER[context.getBand()].name();
+                int size = context.getManagerList().size();
+                long matchingStart = System.nanoTime();
+                bipartiteMatching(context, scheduleList, deadline);   // 스케줄 노드에 배정된 매니저 코드 저장
+                schedulingMetrics.recordPhase("matching", band, size, matchingStart);
+                schedulingMetrics.recordMatching(matchingEngineType, band, size, context.getMatchingEngine().getStats(), scheduleList);
+                //5. 지역 탐색으로 매니저별 배정 시간 분산 줄이기
+                if (localSearchIterations > 0) {
+                    long localSearchStart = System.nanoTime();
+                    new LocalSearchBalancer(localSearchIterations).balance(scheduleList, context.getManagerList(), deadline);
+                    schedulingMetrics.recordPhase("local_search", band, size, localSearchStart);
+                }
+                if (deadline.isExpired()) return false;     // 이번 시간대는 다음 호출에서 남은 노드부터 다시
+                listener.onBand(context.getDay(), SCHEDULING_ORDER[context.getBand()], bandResults(scheduleList));
+
+                context.setBandPrepared(false);
+                context.setBand(context.getBand() + 1);
+                if (context.getBand() == SCHEDULING_ORDER.length) {     /* CYCLE FINISH */
+                    context.setBand(0);
+                    context.setDay(context.getDay() + 1);
+                }
+            }
+            solveResultCache.save(context);
+            return true;
+        }
+    }
 
-        /* CYCLE START */
-        makeManagerWeight(managerNodes, HopeTime.MORNING, percentage);
-        //3. B타임 - 시간대별 필요인원 계산 -> 스케줄 노드 생성
-        settingScheduleNodes(cardsByMORNING, scheduleListByMORNING);    // 스케줄 노드 값 설정(고정 매니저 포함 여부, 스케줄 가중치)
-        //4. 이분매칭(dfs)
-        bipartiteMatching(scheduleListByMORNING);   // 스케줄 노드에 배정된 매니저 코드 저장
+    void prepareBand(SchedulingContext context) {
+        if (context.getBand() == 0) {       /* CYCLE START */
+            for (Manager manager : context.getManagerNodes().values()) {
+                manager.setDayAssignTime(0);
+            }
+            context.getScheduleListsByDay().add(new ArrayList<>());
+        }
 
-        /* CYCLE FINISH */
+        HopeTime hopeTime = SCHEDULING_ORDER[context.getBand()];
+        List<Schedule> scheduleList = new ArrayList<>();
+        long managerWeightStart = System.nanoTime();
+        makeManagerWeight(context, context.getManagerNodes(), context.getRoster().codesByHopeTime(hopeTime), context.getPercentage());
+        int size = context.getManagerList().size();
+        schedulingMetrics.recordPhase("manager_weight", hopeTime.name(), size, managerWeightStart);
+        //3. 시간대별 필요인원 계산 -> 스케줄 노드 생성
+        long scheduleNodesStart = System.nanoTime();
+        settingScheduleNodes(context, context.getDay(), context.getCardsByHopeTime().get(hopeTime), scheduleList);    // 스케줄 노드 값 설정(고정 매니저 포함 여부, 스케줄 가중치)
+        schedulingMetrics.recordPhase("schedule_nodes", hopeTime.name(), size, scheduleNodesStart);
+        keepWarmStart(context, scheduleList);
+        context.getScheduleListsByDay().get(context.getDay()).add(scheduleList);
+        context.setBandPrepared(true);
+    }
 
-        //5. C타임 스케줄링 배정 사이클
-        makeManagerWeight(managerNodes, HopeTime.AFTERNOON, percentage);
-        settingScheduleNodes(cardsByAFTERNOON, scheduleListByAFTERNOON);
-        bipartiteMatching(scheduleListByAFTERNOON);
+    /**
+     * 지난주 같은 요일 / 시간 배정 중 지금도 조건을 만족하는 것을 먼저 채운다. (이후 매칭에서 바뀌지 않도록 pin)
+     * 스케줄 노드는 시간마다 M3 고정 노드가 먼저 오므로, M3 매니저는 고정 좌석부터 채워진다.
+     * 배정 기록은 한 시간 단위이므로 슬롯을 나눈 경우 그 시간의 모든 슬롯에 이어받는다.
+     */
+    private void keepWarmStart(SchedulingContext context, List<Schedule> scheduleList) {
+        if (context.getWarmStartBySlot().isEmpty()) return;
+
+        Set<Manager> bandManagers = new HashSet<>(context.getManagerList());    // 이번 시간대를 희망하는 매니저
+        for (Schedule node : scheduleList) {
+            for (Integer code : context.getWarmStartBySlot().getOrDefault(node.getHourSlot(), Collections.emptyList())) {
+                if (!node.hasRoom()) break;
+                Manager manager = context.getManagerNodes().get(code);
+                if (manager == null || !bandManagers.contains(manager)
+                        || manager.isOccupied(node.getSlot())
+                        || !manager.isAssignableMoreTime()
+                        || (node.isManagerWeightFlag() && manager.getWeight() != 3)) {
+                    continue;
+                }
+                manager.updateAssignScheduleList(null, node);
+                manager.pin(node.getSlot());
+                node.assign(manager);
+                context.setNumOfWarmStartKept(context.getNumOfWarmStartKept() + 1);
+            }
+        }
+    }
 
-        //6. D타임 스케줄링 배정 사이클
-        makeManagerWeight(managerNodes, HopeTime.EVENING, percentage);
-        settingScheduleNodes(cardsByEVENING, scheduleListByEVENING);
-        bipartiteMatching(scheduleListByEVENING);
+    /**
+     * 휴직 / 탈퇴 등으로 비게 된 좌석만 다시 채운다. (일주일 단위)
+     * 기존 배정은 매칭된 상태로 먼저 넣어 두고, 빈 좌석이 남은 노드에서만 증가 경로를 찾는다.
+     * 기존 매니저는 동시간대 좌석 안에서만 움직일 수 있으므로 원래 배정은 바뀌지 않는다.
+     * 시간마다 M3 고정 좌석 수는 배정할 때(settingScheduleNodes)와 같이 예상 카드 수와 가중치 비율로 정하고,
+     * 남아 있는 M3 매니저가 고정 좌석부터 채우므로 비게 된 M3 고정 좌석은 M3 매니저로만 다시 채운다.
+     * 배정 기록이 한 시간 단위이므로 한 시간 슬롯(scheduling.slot-minutes=60)에서만 다시 채울 수 있다.
+     *
+     * @param assignedBySlot  슬롯(요일 * 24 + 시간)별 유지되는 배정 매니저 코드
+     * @param vacatedBySlot   슬롯별 비게 된 좌석 수
+     * @param excludedCode    배정 대상에서 뺄 매니저 코드 (휴직 / 탈퇴 매니저)
+     * @return 슬롯별 새로 배정된 매니저 코드
+     */
+    public Map<Integer, List<Integer>> repairWeek(Map<Integer, List<Integer>> assignedBySlot, Map<Integer, Integer> vacatedBySlot, int excludedCode) {
+        if (slotsPerHour != 1) {
+            throw new IllegalStateException("배정 기록은 한 시간 단위라 scheduling.slot-minutes=60 에서만 다시 채울 수 있습니다 : " + 60 / slotsPerHour);
+        }
+        SchedulingContext context = new SchedulingContext(matchingEngineType.create());
+        RosterSnapshot roster = rosterSnapshotService.getSnapshot();
+        context.setSlotsPerHour(slotsPerHour);
+        context.setRoster(roster);
+        context.setPercentage(percentageOfManagerWeightsRepository.findAll());
+        context.setTotalCardValueAvg(estimatedNumOfCardsPerHourRepository.totalCardValueAvg());
+
+        LinkedHashMap<Integer, Manager> managerNodes = new LinkedHashMap<>();
+        for (int i = 0; i < roster.size(); i++) {
+            int code = roster.codeAt(i);
+            if (code == excludedCode) continue;
+            Manager manager = new Manager(context.getSlotsPerHour());
+            manager.setIndex(managerNodes.size());
+            manager.setCode(code);
+            manager.setTotalAssignTime(0);      // 아래에서 이번 주 기존 배정만큼 늘어남
+            for (HopeTime hopeTime : HopeTime.values()) {
+                if ((roster.hopeTimeMaskAt(i) & RosterSnapshot.bitOf(hopeTime)) != 0) {
+                    manager.getHopeTimeList().add(hopeTime);
+                }
+            }
+            manager.setHopeTimeCount(manager.getHopeTimeList().size());
+            managerNodes.put(code, manager);
+        }
+        context.setManagerNodes(managerNodes);
 
-        //7. A타임 스케줄링 배정 사이클
-        makeManagerWeight(managerNodes, HopeTime.DAWN, percentage);
-        settingScheduleNodes(cardsByDAWN, scheduleListByDAWN);
-        bipartiteMatching(scheduleListByDAWN);
+        EstimatedNumOfCardsPerHour[] cardByTime = new EstimatedNumOfCardsPerHour[Schedule.HOURS_PER_DAY];
+        for (EstimatedNumOfCardsPerHour card : estimatedNumOfCardsPerHourRepository.findAll()) {
+            cardByTime[card.getTime()] = card;
+        }
 
+        /* 기존 배정을 채운 슬롯 노드 (M3 고정 노드 -> 일반 노드 순서, 빈 좌석 수만큼 용량이 남음) */
+        Set<Integer> slots = new TreeSet<>(assignedBySlot.keySet());
+        slots.addAll(vacatedBySlot.keySet());
+        TreeMap<Integer, List<Schedule>> nodesBySlot = new TreeMap<>();
+        for (HopeTime hopeTime : SCHEDULING_ORDER) {
+            // 매니저 가중치(M3 여부)는 시간대마다 다르므로 그 시간대 가중치로 기존 배정을 나눠 앉힌다.
+            makeManagerWeight(context, managerNodes, roster.codesByHopeTime(hopeTime), context.getPercentage());
+            for (Integer slot : slots) {
+                int time = slot % Schedule.HOURS_PER_DAY;
+                if (time < hopeTime.getStart_time() || hopeTime.getFinish_time() <= time) continue;
+                List<Manager> seated = new ArrayList<>();
+                for (Integer code : assignedBySlot.getOrDefault(slot, Collections.emptyList())) {
+                    Manager manager = managerNodes.get(code);
+                    if (manager != null) seated.add(manager);
+                }
+                nodesBySlot.put(slot, repairNodesOf(context, slot, cardByTime[time], seated, vacatedBySlot.getOrDefault(slot, 0)));
+            }
+        }
+
+        for (int day = 0; day < DAYS_OF_WEEK; day++) {
+            SortedMap<Integer, List<Schedule>> nodesOfDay = nodesBySlot.subMap(day * Schedule.HOURS_PER_DAY, (day + 1) * Schedule.HOURS_PER_DAY);
+            if (nodesOfDay.values().stream().flatMap(List::stream).noneMatch(Schedule::hasRoom)) continue;
+
+            for (Manager manager : managerNodes.values()) {
+                manager.setDayAssignTime(manager.countAssignTimeOfDay(day));
+            }
+            for (HopeTime hopeTime : SCHEDULING_ORDER) {
+                List<Schedule> scheduleList = new ArrayList<>();
+                for (List<Schedule> nodes : nodesOfDay.values()) {
+                    for (Schedule node : nodes) {
+                        if (node.hasRoom() && hopeTime.getStart_time() <= node.getTime() && node.getTime() < hopeTime.getFinish_time()) {
+                            scheduleList.add(node);
+                        }
+                    }
+                }
+                if (scheduleList.isEmpty()) continue;
+                makeManagerWeight(context, managerNodes, roster.codesByHopeTime(hopeTime), context.getPercentage());
+                bipartiteMatching(context, scheduleList, Deadline.NONE);
+            }
+        }
+
+        Map<Integer, List<Integer>> refilledBySlot = new TreeMap<>();
+        for (Integer slot : vacatedBySlot.keySet()) {
+            List<Integer> seatedCodes = assignedBySlot.getOrDefault(slot, Collections.emptyList());
+            List<Integer> refilled = new ArrayList<>();
+            for (Schedule node : nodesBySlot.get(slot)) {
+                for (Manager manager : node.getManagers()) {
+                    if (!seatedCodes.contains(manager.getCode())) refilled.add(manager.getCode());
+                }
+            }
+            refilledBySlot.put(slot, refilled);
+        }
+        return refilledBySlot;
+    }
 
+    /**
+     * 한 슬롯의 좌석(기존 배정 + 빈 좌석)을 M3 고정 노드와 일반 노드로 나누고 기존 매니저를 앉힌다.
+     * M3 매니저가 고정 좌석부터 채우고, 일반 좌석이 모자라면 나머지 기존 매니저도 고정 노드에 그대로 둔다.
+     */
+    private List<Schedule> repairNodesOf(SchedulingContext context, int slot, EstimatedNumOfCardsPerHour card, List<Manager> seated, int vacated) {
+        int time = slot % Schedule.HOURS_PER_DAY;
+        int weight = card == null ? 1 : scheduleWeightOf(card, context.getTotalCardValueAvg());
+        int numOfSeats = seated.size() + vacated;
+        int numOfFixedManager = card == null ? 0 : Math.min(numOfFixedManagerOf(numberOfManagersOf(card), weight, context.getFixedM3Ratio()), numOfSeats);
+
+        Schedule fixedSchedule = new Schedule(context.nextScheduleNodeId(), time, weight, true, numOfFixedManager);
+        Schedule schedule = new Schedule(context.nextScheduleNodeId(), time, weight, false, numOfSeats - numOfFixedManager);
+        List<Schedule> nodes = new ArrayList<>();
+        for (Schedule node : Arrays.asList(fixedSchedule, schedule)) {
+            node.setDay(slot / Schedule.HOURS_PER_DAY);
+            node.setSlotsPerHour(context.getSlotsPerHour());
+            if (node.getCapacity() > 0) nodes.add(node);
+        }
 
+        for (Manager manager : seated) {
+            Schedule node = (fixedSchedule.hasRoom() && manager.getWeight() == 3) || !schedule.hasRoom() ? fixedSchedule : schedule;
+            manager.updateAssignScheduleList(null, node);
+            node.assign(manager);
+        }
+        return nodes;
+    }
 
-        /*RETURN*/
-        ArrayList<ResultScheduling> schedulingsResults = new ArrayList<>(); // 타입 지정
-        createResultSchedulingList(schedulingsResults, scheduleListByMORNING);
-        createResultSchedulingList(schedulingsResults, scheduleListByAFTERNOON);
-        createResultSchedulingList(schedulingsResults, scheduleListByEVENING);
-        createResultSchedulingList(schedulingsResults, scheduleListByDAWN);
+    /**
+     * 지금까지의 배정 결과 (아직 시작하지 않은 요일은 빈 목록)
+     */
+    public List<ArrayList<ResultScheduling>> results(SchedulingContext context) {
+        synchronized (context) {
+            long resultBuildStart = System.nanoTime();
+            List<ArrayList<ResultScheduling>> weekResults = new ArrayList<>();
+            for (int day = 0; day < context.getNumOfDays(); day++) {
+                /*RETURN*/
+                ArrayList<ResultScheduling> schedulingsResults = new ArrayList<>(); // 타입 지정
+                if (day < context.getScheduleListsByDay().size()) {
+                    for (List<Schedule> scheduleList : context.getScheduleListsByDay().get(day)) {
+                        createResultSchedulingList(schedulingsResults, scheduleList);
+                    }
+                }
+                weekResults.add(schedulingsResults);
+            }
+            schedulingMetrics.recordPhase("result_build", SchedulingMetrics.ALL_BANDS, context.getManagerNodes().size(), resultBuildStart);
+            return weekResults;
+        }
+    }
+
+    /**
+     * 이미 배정을 마친 시간대 결과를 배정 순서대로 다시 넘긴다. (입력값이 같아 저장된 결과를 돌려준 경우 등)
+     */
+    public void replayBands(SchedulingContext context, BandResultListener listener) {
+        synchronized (context) {
+            List<List<List<Schedule>>> scheduleListsByDay = context.getScheduleListsByDay();
+            for (int day = 0; day < scheduleListsByDay.size(); day++) {
+                List<List<Schedule>> scheduleListsOfDay = scheduleListsByDay.get(day);
+                boolean today = day == context.getDay() && !context.isComplete();
+                int finishedBands = today ? context.getBand() : scheduleListsOfDay.size();
+                for (int band = 0; band < finishedBands; band++) {
+                    listener.onBand(day, SCHEDULING_ORDER[band], bandResults(scheduleListsOfDay.get(band)));
+                }
+            }
+        }
+    }
 
-        return schedulingsResults;
+    private List<ResultScheduling> bandResults(List<Schedule> scheduleList) {
+        ArrayList<ResultScheduling> bandResults = new ArrayList<>();
+        createResultSchedulingList(bandResults, scheduleList);
+        return bandResults;
     }
 
-    private void createResultSchedulingList(ArrayList<ResultScheduling> schedulingsResults, List<Schedule> scheduleListByMORNING) {
-        for (Schedule schedule : scheduleListByMORNING) {
-            if (schedule.getManager() != null) {
-                schedulingsResults.add(new ResultScheduling(schedule.getTime(), schedule.getManager().getCode(), schedule.getManager().getTotalAssignTime()));
+    /**
+     * 요일 / 시간별 필요 인원 대비 배정 인원
+     */
+    public SchedulingCoverage coverage(SchedulingContext context) {
+        synchronized (context) {
+            int slotsPerHour = context.getSlotsPerHour();
+            SchedulingCoverage coverage = new SchedulingCoverage(context.isComplete(), context.getNumOfDays(), slotsPerHour);
+            for (int day = 0; day < context.getNumOfDays(); day++) {
+                List<List<Schedule>> scheduleListsOfDay = day < context.getScheduleListsByDay().size()
+                        ? context.getScheduleListsByDay().get(day) : Collections.emptyList();
+                for (int band = 0; band < SCHEDULING_ORDER.length; band++) {
+                    if (band < scheduleListsOfDay.size()) {
+                        for (Schedule schedule : scheduleListsOfDay.get(band)) {
+                            coverage.add(day, schedule.getTime() * slotsPerHour + schedule.getSlotOfHour(), schedule.getCapacity(), schedule.getManagers().size());
+                        }
+                    } else {
+                        for (EstimatedNumOfCardsPerHour card : context.getCardsByHopeTime().get(SCHEDULING_ORDER[band])) {
+                            for (int slotOfHour = 0; slotOfHour < slotsPerHour; slotOfHour++) {
+                                coverage.add(day, card.getTime() * slotsPerHour + slotOfHour, numberOfManagersOf(card), 0);
+                            }
+                        }
+                    }
+                }
             }
+            return coverage;
         }
     }
 
-    private void bipartiteMatching(List<Schedule> scheduleList) {
-        int count = 0;
-        for (int i = 0; i < scheduleList.size(); i++) {
-            if (firstDFS(scheduleList.get(i))) count++;   //매칭 개수
+    private void createResultSchedulingList(ArrayList<ResultScheduling> schedulingsResults, List<Schedule> scheduleList) {
+        for (Schedule schedule : scheduleList) {
+            for (Manager manager : schedule.getManagers()) {
+                schedulingsResults.add(new ResultScheduling(schedule.getTime(), manager.getCode(),
+                        (manager.getTotalAssignTime() - manager.getSavedAssignTime()) / manager.getSlotsPerHour(), schedule.getStartMinute()));
+            }
         }
     }
 
-    private LinkedHashMap<Integer, Manager> makeManagerNode(int[] userCode, int[] userCurrentTime, List<List<Integer>> userHopeTimeList) {
+    int bipartiteMatching(SchedulingContext context, List<Schedule> scheduleList, Deadline deadline) {
+        return context.getMatchingEngine().match(scheduleList, context.getManagerList(), deadline);   //매칭 개수
+    }
+
+    LinkedHashMap<Integer, Manager> makeManagerNode(SchedulingContext context, int[] userCode, int[] userCurrentTime, List<List<Integer>> userHopeTimeList) {
         LinkedHashMap<Integer, Manager> managerNode = new LinkedHashMap<>();
 
         for (int i = 0; i < userCode.length; i++) {
-            Manager manager = new Manager();
+            Manager manager = new Manager(context.getSlotsPerHour());
+            manager.setIndex(i);
             manager.setCode(userCode[i]);
-            manager.setTotalAssignTime(userCurrentTime[i]);
+            manager.setSavedAssignTime(context.getSavedHoursByCode().getOrDefault(userCode[i], 0L).intValue() * context.getSlotsPerHour());
+            manager.setTotalAssignTime(userCurrentTime[i] * context.getSlotsPerHour() + manager.getSavedAssignTime());     // 시간 -> 슬롯 수
 
             List<Integer> startTimeList = userHopeTimeList.get(i);
             List<HopeTime> hopeTimeList = manager.getHopeTimeList();
@@ -144,23 +550,23 @@ private LinkedHashMap<Integer, Manager> makeManagerNode(int[] userCode, int[] us
             manager.setHopeTimeList(hopeTimeList);
             manager.setHopeTimeCount(hopeTimeList.size());
             managerNode.put(userCode[i], manager);
-            managerList.add(manager);
+            context.getManagerList().add(manager);
         }
 
         return managerNode;
     }
 
-    private LinkedHashMap<Integer, Manager> makeManagerWeight(LinkedHashMap<Integer, Manager> managerNodes,
-                                                              HopeTime hopeTime, List<PercentageOfManagerWeights> percentage) {
+    private LinkedHashMap<Integer, Manager> makeManagerWeight(SchedulingContext context, LinkedHashMap<Integer, Manager> managerNodes,
+                                                              int[] joinDateOrderedCodes, List<PercentageOfManagerWeights> percentage) {
+        List<Manager> managerList = context.getManagerList();
         managerList.clear();
 
-        List<Tuple> joinDateByHopeTime = userService.findJoinDateByHopeTime(hopeTime.getStart_time());
-        int count = joinDateByHopeTime.size();
+        int count = joinDateOrderedCodes.length;
 
         Integer high = percentage.get(0).getHigh();
         Integer middle = percentage.get(0).getMiddle();
 
-        fixedM3Ratio = high / 2 * 0.01;
+        context.setFixedM3Ratio(high / 2 * 0.01);
 
         long highManager = Math.round(count * high * 0.01);
         long middleManager = Math.round(count * middle * 0.01) + highManager;
@@ -168,118 +574,86 @@ private LinkedHashMap<Integer, Manager> makeManagerWeight(LinkedHashMap<Integer,
 
         int i;
         for (i = 0; i < highManager; i++) {
-            Tuple tuple = joinDateByHopeTime.get(i);
-            Integer code = tuple.get(user.code);
-            Manager manager = managerNodes.get(code);
+            Manager manager = managerNodes.get(joinDateOrderedCodes[i]);
+            if (manager == null) continue;      // 스케줄링 대상이 아닌 매니저 (휴직/탈퇴 처리 중)
             manager.setWeight(3);
             managerList.add(manager);
         }
 
         for (; i < middleManager; i++) {
-            Tuple tuple = joinDateByHopeTime.get(i);
-            Integer code = tuple.get(user.code);
-            Manager manager = managerNodes.get(code);
+            Manager manager = managerNodes.get(joinDateOrderedCodes[i]);
+            if (manager == null) continue;      // 스케줄링 대상이 아닌 매니저 (휴직/탈퇴 처리 중)
             manager.setWeight(2);
             managerList.add(manager);
 
         }
 
         for (; i < lowManager; i++) {
-            Tuple tuple = joinDateByHopeTime.get(i);
-            Integer code = tuple.get(user.code);
-            Manager manager = managerNodes.get(code);
+            Manager manager = managerNodes.get(joinDateOrderedCodes[i]);
+            if (manager == null) continue;      // 스케줄링 대상이 아닌 매니저 (휴직/탈퇴 처리 중)
             manager.setWeight(1);
             managerList.add(manager);
-
-            for (Manager manager1 : managerList) {
-                for (HopeTime time : manager1.getHopeTimeList()) {
-                }
-            }
         }
 
         return managerNodes;
     }
 
-    private void settingScheduleNodes(List<EstimatedNumOfCardsPerHour> cards, List<Schedule> scheduleList) {
+    private void settingScheduleNodes(SchedulingContext context, int day, List<EstimatedNumOfCardsPerHour> cards, List<Schedule> scheduleList) {
+        double totalCardValueAvg = context.getTotalCardValueAvg();
         int weight = 0;
         for (EstimatedNumOfCardsPerHour card : cards) {
-            int numberOfManagers = (int) Math.ceil(card.getNumOfCards() / MANAGER_DONE_REQUEST_AVG_PER_HOUR);
-            if (numberOfManagers == 0 && card.getNumOfCards() != 0) numberOfManagers = 1;
-
-            int numOfFixedManager = 0;
-
-            if (card.getNumOfCards() < totalCardValueAvg / 2) {
-                weight = 1;
-            } else if (card.getNumOfCards() < totalCardValueAvg * 2) {
-                weight = 2;
-            } else {
-                weight = 3;
-                numOfFixedManager = (int) Math.round(numberOfManagers * fixedM3Ratio);
-            }
-
-            int countOfFixedManager = 0;
-            for (int i = 0; i < numberOfManagers; i++) {
-                boolean managerWeightFlag = false;
-                numOfCreatedScheduleNode++;
-                if (countOfFixedManager < numOfFixedManager) {
-                    managerWeightFlag = true;
-                    countOfFixedManager++;
+            int numberOfManagers = numberOfManagersOf(card);
+
+            weight = scheduleWeightOf(card, totalCardValueAvg);
+            int numOfFixedManager = numOfFixedManagerOf(numberOfManagers, weight, context.getFixedM3Ratio());
+
+            // 슬롯마다 M3 고정 좌석 노드 하나 + 나머지 좌석 노드 하나 (필요 인원만큼 용량)
+            // 한 시간을 나눈 경우 슬롯마다 그 시간의 필요 인원이 그대로 필요하다. -> 노드 수는 슬롯 수에 비례
+            for (int slotOfHour = 0; slotOfHour < context.getSlotsPerHour(); slotOfHour++) {
+                if (numOfFixedManager > 0) {
+                    Schedule fixedSchedule = new Schedule(context.nextScheduleNodeId(), card.getTime(), weight, true, numOfFixedManager);
+                    fixedSchedule.setDay(day);
+                    fixedSchedule.setSlotsPerHour(context.getSlotsPerHour());
+                    fixedSchedule.setSlotOfHour(slotOfHour);
+                    scheduleList.add(fixedSchedule);
+                }
+                if (numberOfManagers > numOfFixedManager) {
+                    Schedule schedule = new Schedule(context.nextScheduleNodeId(), card.getTime(), weight, false, numberOfManagers - numOfFixedManager);
+                    schedule.setDay(day);
+                    schedule.setSlotsPerHour(context.getSlotsPerHour());
+                    schedule.setSlotOfHour(slotOfHour);
+                    scheduleList.add(schedule);
                 }
-                scheduleList.add(new Schedule(numOfCreatedScheduleNode, card.getTime(), weight, managerWeightFlag));
             }
 
         }
     }
 
-    public List<Manager> sortToPriority(List<Manager> managerList, Integer scheduleWeight) {
-        Comparator<Manager> comparingTotalAssignTime = Comparator.comparing(Manager::getTotalAssignTime);
-        Comparator<Manager> comparingWeight = Comparator.comparing(Manager::getWeight);
-        Comparator<Manager> comparingHopeTimeCount = Comparator.comparing(Manager::getHopeTimeCount);
-
-        switch (scheduleWeight) {
-            case 1:
-                managerList.sort(comparingHopeTimeCount.thenComparing(comparingTotalAssignTime).thenComparing(comparingWeight));
-                break;
-
-            case 2:
-                managerList.sort(comparingTotalAssignTime.thenComparing(comparingHopeTimeCount).thenComparing(comparingWeight.reversed()));
-                break;
-
-            case 3:
-                managerList.sort(comparingWeight.reversed().thenComparing(comparingHopeTimeCount).thenComparing(comparingTotalAssignTime).thenComparing(comparingHopeTimeCount));
-                break;
+    private int scheduleWeightOf(EstimatedNumOfCardsPerHour card, double totalCardValueAvg) {
+        if (card.getNumOfCards() < totalCardValueAvg / 2) {
+            return 1;
+        } else if (card.getNumOfCards() < totalCardValueAvg * 2) {
+            return 2;
         }
-        return managerList;
+        return 3;
     }
 
-    public boolean firstDFS(Schedule scheduleNode) {
-        /* 매니저리스트 정렬 */
-        managerList = sortToPriority(managerList, scheduleNode.getWeight());
+    /**
+     * 가중치 3 인 시간의 필요 인원 중 M3 매니저만 앉을 수 있는 고정 좌석 수
+     */
+    private int numOfFixedManagerOf(int numberOfManagers, int weight, double fixedM3Ratio) {
+        return weight == 3 ? (int) Math.round(numberOfManagers * fixedM3Ratio) : 0;
+    }
 
-        for (Manager manager : managerList) {
-            Schedule alreadyExistingScheduleNode = manager.findScheduleByTime(scheduleNode.getTime());
+        private int numberOfManagersOf(EstimatedNumOfCardsPerHour card) {
+        int numberOfManagers = (int) Math.ceil(card.getNumOfCards() / MANAGER_DONE_REQUEST_AVG_PER_HOUR);
+        if (numberOfManagers == 0 && card.getNumOfCards() != 0) numberOfManagers = 1;
+        return numberOfManagers;
+    }
 
-            if (manager.getDayAssignTime() >= 3) {                 // 조건1. 하루 배정 시간이 3시간이 넘으면 제외
-                continue;
-            }
-            if (manager.getTotalAssignTime() >= 10) {                 // 조건2. 현재 배정 시간이 12시간이 넘으면 제외
-                continue;
-            }
-            if (alreadyExistingScheduleNode != null) {            // 조건2. 이미 해당 매니저가 동시간대에 배정되어 있으면 제외
-                continue;
-            }
-            //매니저가 해당 시간대에 아직 배정되지 않은 경우 (alreadyExistingScheduleNode == null인 경우)
-            if (scheduleNode.isManagerWeightFlag() && manager.getWeight() != 3) {
-                continue;                                   //조건3. managerWeightFlag가 true라면 매니저는 반드시 M3여야 함
-            }
-            if (alreadyExistingScheduleNode == null || firstDFS(alreadyExistingScheduleNode)) {
-                manager.updateAssignScheduleList(alreadyExistingScheduleNode, scheduleNode);
-                scheduleNode.setManager(manager);
-                return true;
-            }
-        }
-        return false;
+    public List<Manager> sortToPriority(List<Manager> managerList, Integer scheduleWeight) {
+        managerList.sort(Comparator.comparingLong(manager -> ManagerPriority.key(manager, scheduleWeight)));
+        return managerList;
     }
 
 }
-
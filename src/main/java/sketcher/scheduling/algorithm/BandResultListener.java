@@ -0,0 +1,18 @@
+package sketcher.scheduling.algorithm;
+
+import sketcher.scheduling.object.HopeTime;
+
+import java.util.List;
+
+/**
+ * 시간대(HopeTime) 하나의 배정이 끝날 때마다 그 결과를 받는다. (일주일 배정이 다 끝나기 전에 먼저 보여주기 위함)
+ * 배정 스레드에서 호출되므로 오래 걸리는 작업은 하지 않는다.
+ */
+@FunctionalInterface
+public interface BandResultListener {
+
+    BandResultListener NONE = (day, hopeTime, results) -> {
+    };
+
+    void onBand(int day, HopeTime hopeTime, List<ResultScheduling> results);
+}
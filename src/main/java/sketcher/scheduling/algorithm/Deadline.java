@@ -0,0 +1,24 @@
+package sketcher.scheduling.algorithm;
+
+/**
+ * 스케줄 배정 제한 시간
+ * 매칭 엔진은 증가 경로 탐색 사이마다 확인하고, 시간이 지나면 지금까지의 결과로 멈춘다.
+ */
+public final class Deadline {
+
+    public static final Deadline NONE = new Deadline(0);
+
+    private final long expireAtNanos;
+
+    private Deadline(long expireAtNanos) {
+        this.expireAtNanos = expireAtNanos;
+    }
+
+    public static Deadline afterMillis(long millis) {
+        return new Deadline(System.nanoTime() + millis * 1_000_000L);
+    }
+
+    public boolean isExpired() {
+        return this != NONE && System.nanoTime() - expireAtNanos >= 0;
+    }
+}
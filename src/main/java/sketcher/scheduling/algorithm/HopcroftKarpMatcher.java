@@ -0,0 +1,146 @@
+package sketcher.scheduling.algorithm;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hopcroft-Karp 이분매칭 -> O(E·√V)
+ * BFS 로 빈 좌석이 남은 스케줄 노드부터 층을 나누고, 같은 단계 안에서 층을 따라가는 DFS 로
+ * 서로 겹치지 않는 최단 증가 경로를 한꺼번에 반영한다.
+ * 오른쪽 정점은 (매니저, 시간) 이고, 동시간대에 이미 배정된 스케줄 노드가 매칭 간선이 된다.
+ */
+public class HopcroftKarpMatcher implements MatchingEngine {
+
+    private static final int INF = Integer.MAX_VALUE;
+
+    private ManagerPriority managerPriority;
+    private int[] dist = new int[0];
+    private int freeLayer;
+    private final MatchingStats stats = new MatchingStats();
+
+    @Override
+    public int match(List<Schedule> scheduleList, List<Manager> managerList, Deadline deadline) {
+        stats.reset();
+        ensureCapacity(scheduleList);
+        managerPriority = new ManagerPriority(managerList);
+
+        int count = 0;
+        while (!deadline.isExpired()) {
+            if (!bfs(scheduleList)) break;
+
+            int augmented = 0;
+            for (Schedule scheduleNode : scheduleList) {
+                // 빈 좌석이 남은 노드는 같은 단계 안에서 더 이상 경로가 없을 때까지 이어서 채움
+                while (scheduleNode.hasRoom() && dist[scheduleNode.getId()] == 0 && !deadline.isExpired()
+                        && dfs(scheduleNode)) {
+                    augmented++;
+                }
+            }
+            if (augmented == 0) break;
+            count += augmented;
+        }
+        stats.augmentations += count;
+        return count;
+    }
+
+    @Override
+    public MatchingStats getStats() {
+        return stats;
+    }
+
+    private boolean bfs(List<Schedule> scheduleList) {
+        ArrayDeque<Schedule> queue = new ArrayDeque<>();
+        for (Schedule scheduleNode : scheduleList) {
+            if (scheduleNode.hasRoom()) {
+                dist[scheduleNode.getId()] = 0;
+                queue.add(scheduleNode);
+            } else {
+                dist[scheduleNode.getId()] = INF;
+            }
+        }
+
+        freeLayer = INF;
+        while (!queue.isEmpty()) {
+            Schedule scheduleNode = queue.poll();
+            int layer = dist[scheduleNode.getId()];
+            if (layer >= freeLayer) continue;
+
+            for (Manager manager : candidatesOf(scheduleNode)) {
+                if (violatesM3Only(scheduleNode, manager)) continue;
+
+                Schedule alreadyExistingScheduleNode = manager.findScheduleBySlot(scheduleNode.getSlot());
+                if (alreadyExistingScheduleNode == null) {
+                    if (manager.isAssignableMoreTime() && freeLayer == INF) freeLayer = layer;
+                } else if (dist[alreadyExistingScheduleNode.getId()] == INF) {
+                    dist[alreadyExistingScheduleNode.getId()] = layer + 1;
+                    queue.add(alreadyExistingScheduleNode);
+                }
+            }
+        }
+        return freeLayer != INF;
+    }
+
+    private boolean dfs(Schedule scheduleNode) {
+        int layer = dist[scheduleNode.getId()];
+        stats.dfsCalls++;
+
+        for (Manager manager : candidatesOf(scheduleNode)) {
+            if (violatesM3Only(scheduleNode, manager)) {
+                stats.rejectedByM3Only++;
+                continue;
+            }
+
+            Schedule alreadyExistingScheduleNode = manager.findScheduleBySlot(scheduleNode.getSlot());
+            if (alreadyExistingScheduleNode == null) {
+                if (layer != freeLayer) continue;       // 최단 경로 층이 아님
+                if (!manager.isAssignableMoreTime()) {   // 조건1, 2. 하루/현재 배정 시간 상한
+                    stats.rejectedByAssignLimit++;
+                    continue;
+                }
+            } else if (dist[alreadyExistingScheduleNode.getId()] != layer + 1) {
+                stats.rejectedBySlotConflict++;
+                continue;
+            } else if (!dfs(alreadyExistingScheduleNode)) {
+                continue;
+            }
+
+            manager.updateAssignScheduleList(alreadyExistingScheduleNode, scheduleNode);
+            if (alreadyExistingScheduleNode != null) {
+                alreadyExistingScheduleNode.unassign(manager);
+            }
+            scheduleNode.assign(manager);
+            if (alreadyExistingScheduleNode == null) {
+                managerPriority.reposition(manager);
+            }
+            if (layer > 0) {
+                dist[scheduleNode.getId()] = INF;   // 경로 중간 노드는 이번 단계에서 한 번만 사용
+            }
+            return true;
+        }
+        dist[scheduleNode.getId()] = INF;   // 이번 단계에서 더 이상 경로가 없는 노드
+        stats.backtracks++;
+        return false;
+    }
+
+    /**
+     * 조건3. managerWeightFlag가 true라면 매니저는 반드시 M3여야 함 (배정 시간 상한은 따로 확인)
+     */
+    private boolean violatesM3Only(Schedule scheduleNode, Manager manager) {
+        return scheduleNode.isManagerWeightFlag() && manager.getWeight() != 3;
+    }
+
+    private Manager[] candidatesOf(Schedule scheduleNode) {
+        return managerPriority.orderOf(scheduleNode.getWeight());
+    }
+
+    private void ensureCapacity(List<Schedule> scheduleList) {
+        int maxScheduleId = 0;
+        for (Schedule schedule : scheduleList) {
+            maxScheduleId = Math.max(maxScheduleId, schedule.getId());
+        }
+        if (dist.length <= maxScheduleId) {
+            dist = Arrays.copyOf(dist, maxScheduleId + 1);
+        }
+    }
+}
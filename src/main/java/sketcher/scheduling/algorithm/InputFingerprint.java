@@ -0,0 +1,46 @@
+package sketcher.scheduling.algorithm;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 스케줄링 입력값을 정해진 순서로 이어 붙인 SHA-256 지문
+ * 값마다 길이가 고정(long)되거나 길이를 먼저 넣으므로 경계가 섞이지 않는다.
+ */
+class InputFingerprint {
+
+    private final MessageDigest digest;
+    private final ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+
+    InputFingerprint() {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    InputFingerprint add(long value) {
+        buffer.clear();
+        buffer.putLong(value);
+        digest.update(buffer.array());
+        return this;
+    }
+
+    InputFingerprint add(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        add(bytes.length);
+        digest.update(bytes);
+        return this;
+    }
+
+    String toHex() {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,92 @@
+package sketcher.scheduling.algorithm;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 스케줄 노드 - 매니저 이분매칭 (증가 경로 탐색, 반복문)
+ * AugmentingPathMatcher 와 방문 순서가 같아 같은 매칭 결과를 만들지만, 재귀 호출 없이 탐색한다.
+ * 기존 firstDFS 와 같이 동시간대에 이미 배정된 매니저는 건너뛰므로 증가 경로는 한 단계에서 끝난다.
+ * -> 스케줄 노드가 많아도 StackOverflowError 가 나지 않고, 탐색 프레임도 만들지 않는다.
+ */
+public class IterativeAugmentingPathMatcher implements MatchingEngine {
+
+    private ManagerPriority managerPriority;
+    private int[] scheduleVisited = new int[0];
+    private int[] managerVisited = new int[0];
+    private int epoch = 0;
+    private final MatchingStats stats = new MatchingStats();
+
+    @Override
+    public int match(List<Schedule> scheduleList, List<Manager> managerList, Deadline deadline) {
+        stats.reset();
+        managerPriority = new ManagerPriority(managerList);
+        ensureCapacity(scheduleList, managerList);
+
+        int count = 0;
+        for (Schedule scheduleNode : scheduleList) {
+            while (scheduleNode.hasRoom() && !deadline.isExpired()) {
+                epoch++;
+                if (!augment(scheduleNode)) break;    // 더 채울 수 없는 노드
+                count++;   //매칭 개수
+            }
+        }
+        stats.augmentations += count;
+        return count;
+    }
+
+    @Override
+    public MatchingStats getStats() {
+        return stats;
+    }
+
+    private boolean augment(Schedule scheduleNode) {
+        scheduleVisited[scheduleNode.getId()] = epoch;
+        stats.dfsCalls++;
+
+        for (Manager manager : managerPriority.orderOf(scheduleNode.getWeight())) {
+            if (managerVisited[manager.getIndex()] == epoch) {
+                continue;
+            }
+            if (scheduleNode.isManagerWeightFlag() && manager.getWeight() != 3) {
+                stats.rejectedByM3Only++;
+                continue;                                   //조건3. managerWeightFlag가 true라면 매니저는 반드시 M3여야 함
+            }
+            managerVisited[manager.getIndex()] = epoch;
+
+            if (manager.findScheduleBySlot(scheduleNode.getSlot()) != null) {   // 이미 해당 매니저가 동시간대에 배정되어 있으면 제외 (기존 firstDFS 와 동일)
+                stats.rejectedBySlotConflict++;
+                continue;
+            }
+            if (!manager.isAssignableMoreTime()) {           // 조건1, 2. 하루/현재 배정 시간 상한
+                stats.rejectedByAssignLimit++;
+                continue;
+            }
+
+            manager.updateAssignScheduleList(null, scheduleNode);
+            scheduleNode.assign(manager);
+            managerPriority.reposition(manager);
+            return true;
+        }
+        stats.backtracks++;
+        return false;
+    }
+
+    private void ensureCapacity(List<Schedule> scheduleList, List<Manager> managerList) {
+        int maxScheduleId = 0;
+        for (Schedule schedule : scheduleList) {
+            maxScheduleId = Math.max(maxScheduleId, schedule.getId());
+        }
+        if (scheduleVisited.length <= maxScheduleId) {
+            scheduleVisited = Arrays.copyOf(scheduleVisited, maxScheduleId + 1);
+        }
+
+        int maxManagerIndex = -1;
+        for (Manager manager : managerList) {
+            maxManagerIndex = Math.max(maxManagerIndex, manager.getIndex());
+        }
+        if (managerVisited.length <= maxManagerIndex) {
+            managerVisited = Arrays.copyOf(managerVisited, maxManagerIndex + 1);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package sketcher.scheduling.algorithm;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 이분매칭 이후 매니저별 현재 배정 시간(totalAssignTime)의 분산을 줄이는 지역 탐색 (simulated annealing)
+ * - 이동(move) : 배정된 좌석 하나를 같은 시간대의 다른 매니저에게 넘김
+ * - 교환(swap) : 서로 다른 시간의 좌석 두 개를 두 매니저가 맞바꿈 (배정 시간은 그대로, 다음 이동의 길을 열어줌)
+ * 하루/현재 배정 시간 상한, 동시간대 중복 배정 금지, M3 고정 스케줄 조건은 후보 단계에서 걸러낸다.
+ * 지난주 배정을 이어받은(pin) 좌석은 옮기지 않는다.
+ * 배정 인원 합이 바뀌지 않으므로 평균도 그대로 -> 분산 대신 제곱합의 변화량만 O(1) 로 계산한다.
+ */
+public class LocalSearchBalancer {
+
+    private static final long SEED = 20220701L;
+    private static final double START_TEMPERATURE = 2.0;
+    private static final double END_TEMPERATURE = 0.05;
+    private static final int DEADLINE_CHECK_INTERVAL = 1024;
+
+    private final int iterations;
+
+    public LocalSearchBalancer(int iterations) {
+        this.iterations = iterations;
+    }
+
+    /**
+     * @param scheduleList 이번 시간대 스케줄 노드
+     * @param managerList  이번 시간대에 배정 가능한 매니저 (현재 가중치 기준)
+     * @return 제곱합 감소량
+     */
+    public long balance(List<Schedule> scheduleList, List<Manager> managerList, Deadline deadline) {
+        int seatCount = 0;
+        for (Schedule schedule : scheduleList) {
+            for (Manager manager : schedule.getManagers()) {
+                if (!manager.isPinned(schedule.getSlot())) seatCount++;
+            }
+        }
+        if (seatCount == 0 || managerList.size() < 2 || iterations <= 0) {
+            return 0;
+        }
+
+        // 배정된 좌석 (스케줄 노드, 매니저)
+        Schedule[] seatNode = new Schedule[seatCount];
+        Manager[] seatManager = new Manager[seatCount];
+        Manager[] best = new Manager[seatCount];
+        int seat = 0;
+        for (Schedule schedule : scheduleList) {
+            for (Manager manager : schedule.getManagers()) {
+                if (manager.isPinned(schedule.getSlot())) continue;
+                seatNode[seat] = schedule;
+                seatManager[seat] = manager;
+                best[seat++] = manager;
+            }
+        }
+        Manager[] managers = managerList.toArray(new Manager[0]);
+
+        Random random = new Random(SEED);
+        long delta = 0;        // 시작 상태 대비 현재 제곱합 변화
+        long bestDelta = 0;
+        double cooling = Math.pow(END_TEMPERATURE / START_TEMPERATURE, 1.0 / iterations);
+        double temperature = START_TEMPERATURE;
+
+        for (int iteration = 0; iteration < iterations; iteration++, temperature *= cooling) {
+            if (iteration % DEADLINE_CHECK_INTERVAL == 0 && deadline.isExpired()) break;
+
+            int i = random.nextInt(seatCount);
+            int moveDelta;
+            if (random.nextInt(4) != 0) {
+                Manager to = managers[random.nextInt(managers.length)];
+                if (!isMovable(seatNode[i], seatManager[i], to)) continue;
+                moveDelta = moveDelta(seatManager[i], to);
+                if (!accept(moveDelta, temperature, random)) continue;
+                move(seatNode[i], seatManager[i], to);
+                seatManager[i] = to;
+            } else {
+                int j = random.nextInt(seatCount);
+                if (!isSwappable(seatNode[i], seatManager[i], seatNode[j], seatManager[j])) continue;
+                moveDelta = 0;
+                swap(seatNode[i], seatManager[i], seatNode[j], seatManager[j]);
+                Manager temp = seatManager[i];
+                seatManager[i] = seatManager[j];
+                seatManager[j] = temp;
+            }
+
+            delta += moveDelta;
+            if (delta < bestDelta) {
+                bestDelta = delta;
+                System.arraycopy(seatManager, 0, best, 0, seatCount);
+            }
+        }
+
+        restore(seatNode, seatManager, best);
+        return -bestDelta;
+    }
+
+    /**
+     * 노드를 from -> to 로 옮길 때 제곱합 변화 : (a-1)² - a² + (b+1)² - b² = 2(b - a + 1)
+     */
+    static int moveDelta(Manager from, Manager to) {
+        return 2 * (to.getTotalAssignTime() - from.getTotalAssignTime() + 1);
+    }
+
+    private boolean accept(int moveDelta, double temperature, Random random) {
+        return moveDelta <= 0 || random.nextDouble() < Math.exp(-moveDelta / temperature);
+    }
+
+    private boolean isMovable(Schedule node, Manager from, Manager to) {
+        return to != from
+                && to.isAssignableMoreTime()
+                && !to.isOccupied(node.getSlot())
+                && isQualified(node, to);
+    }
+
+    private boolean isSwappable(Schedule node, Manager a, Schedule other, Manager b) {
+        return a != b
+                && node.getSlot() != other.getSlot()
+                && !a.isOccupied(other.getSlot())
+                && !b.isOccupied(node.getSlot())
+                && isQualified(node, b)
+                && isQualified(other, a);
+    }
+
+    private boolean isQualified(Schedule node, Manager manager) {
+        //조건3. managerWeightFlag가 true라면 매니저는 반드시 M3여야 함
+        return !node.isManagerWeightFlag() || manager.getWeight() == 3;
+    }
+
+    private void move(Schedule node, Manager from, Manager to) {
+        unassign(node, from);
+        assign(node, to);
+    }
+
+    private void swap(Schedule node, Manager a, Schedule other, Manager b) {
+        unassign(node, a);
+        unassign(other, b);
+        assign(other, a);
+        assign(node, b);
+    }
+
+    private void assign(Schedule node, Manager manager) {
+        manager.updateAssignScheduleList(null, node);
+        node.assign(manager);
+    }
+
+    private void unassign(Schedule node, Manager manager) {
+        manager.removeAssignSchedule(node);
+        node.unassign(manager);
+    }
+
+    /**
+     * 가장 좋았던 배정으로 되돌림 (바뀐 좌석을 먼저 모두 빼고 다시 넣어야 동시간대 충돌이 없음)
+     */
+    private void restore(Schedule[] seatNode, Manager[] seatManager, Manager[] best) {
+        for (int i = 0; i < seatNode.length; i++) {
+            if (seatManager[i] != best[i]) {
+                unassign(seatNode[i], seatManager[i]);
+            }
+        }
+        for (int i = 0; i < seatNode.length; i++) {
+            if (seatManager[i] != best[i]) {
+                assign(seatNode[i], best[i]);
+            }
+        }
+    }
+}
@@ -1,47 +1,138 @@
 package sketcher.scheduling.algorithm;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import sketcher.scheduling.object.HopeTime;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 
 @Getter
 @Setter
 public class Manager {
+    public static final int DAY_ASSIGN_LIMIT = 3;
+    public static final int TOTAL_ASSIGN_LIMIT = 10;
+
+    private int index;
     private Integer code;
     private List<HopeTime> hopeTimeList;
     private Integer hopeTimeCount;
     private Integer totalAssignTime;
+    /* totalAssignTime 중 DB 에 이미 저장된 슬롯 수 (상한 계산에만 쓰고 결과로 돌려주지 않음) */
+    private int savedAssignTime;
     private Integer dayAssignTime;
     private Integer weight;
     private boolean previousAssignFlag;
-    private List<Schedule> assignScheduleList;
+
+    /* 한 시간을 나눈 슬롯 수 (배정 시간 / 상한은 슬롯 단위로 센다) */
+    @Setter(AccessLevel.NONE)
+    private final int slotsPerHour;
+    /* 일주일 슬롯별 배정 여부 비트 (슬롯 수 / 64 개의 long) */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final long[] occupiedSlots;
+    /* 지난주 배정을 그대로 이어받은 슬롯 (지역 탐색에서 옮기지 않음) */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final long[] pinnedSlots;
+    /* 일주일 슬롯별 배정된 스케줄 노드 */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Schedule[] scheduleBySlot;
 
     public Manager() {
+        this(1);
+    }
+
+    public Manager(int slotsPerHour) {
+        this.slotsPerHour = slotsPerHour;
+        this.occupiedSlots = new long[(Schedule.slotsPerWeek(slotsPerHour) + 63) >>> 6];
+        this.pinnedSlots = new long[occupiedSlots.length];
+        this.scheduleBySlot = new Schedule[Schedule.slotsPerWeek(slotsPerHour)];
         dayAssignTime = 0;
         this.hopeTimeList = new ArrayList<>();
-        this.assignScheduleList = new ArrayList<>();
     }
 
-    public Schedule findScheduleByTime(int time) {
-        for (Schedule schedule : assignScheduleList) {
-            if (schedule.getTime() == time) {
-                return schedule;
+    public int getDayAssignLimit() {
+        return DAY_ASSIGN_LIMIT * slotsPerHour;
+    }
+
+    public int getTotalAssignLimit() {
+        return TOTAL_ASSIGN_LIMIT * slotsPerHour;
+    }
+
+    public boolean isAssignableMoreTime() {
+        return dayAssignTime < getDayAssignLimit() && totalAssignTime < getTotalAssignLimit();
+    }
+
+    public boolean isOccupied(int slot) {
+        return (occupiedSlots[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    public void pin(int slot) {
+        pinnedSlots[slot >>> 6] |= 1L << slot;
+    }
+
+    public boolean isPinned(int slot) {
+        return (pinnedSlots[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    public Schedule findScheduleBySlot(int slot) {
+        return isOccupied(slot) ? scheduleBySlot[slot] : null;
+    }
+
+    /**
+     * 해당 요일에 배정된 슬롯 수
+     */
+    public int countAssignTimeOfDay(int day) {
+        int slotsPerDay = Schedule.HOURS_PER_DAY * slotsPerHour;
+        int count = 0;
+        for (int slot = day * slotsPerDay; slot < (day + 1) * slotsPerDay; slot++) {
+            if (isOccupied(slot)) count++;
+        }
+        return count;
+    }
+
+    public List<Schedule> getAssignScheduleList() {
+        List<Schedule> assignScheduleList = new ArrayList<>();
+        for (int i = 0; i < occupiedSlots.length; i++) {
+            long bits = occupiedSlots[i];
+            while (bits != 0) {
+                int slot = (i << 6) + Long.numberOfTrailingZeros(bits);
+                assignScheduleList.add(scheduleBySlot[slot]);
+                bits &= bits - 1;
             }
         }
-        return null;
+        return assignScheduleList;
     }
 
     public void updateAssignScheduleList(Schedule currentNode, Schedule newNode) {
         if (currentNode != null) {
-            assignScheduleList.remove(currentNode);
+            release(currentNode.getSlot());
         } else {
             totalAssignTime++;
             dayAssignTime++;
         }
-        assignScheduleList.add(newNode);
+        occupy(newNode.getSlot(), newNode);
+    }
+
+    /**
+     * 배정 취소 (배정 시간도 함께 줄어듦)
+     */
+    public void removeAssignSchedule(Schedule node) {
+        release(node.getSlot());
+        totalAssignTime--;
+        dayAssignTime--;
+    }
+
+    private void occupy(int slot, Schedule schedule) {
+        occupiedSlots[slot >>> 6] |= 1L << slot;
+        scheduleBySlot[slot] = schedule;
+    }
+
+    private void release(int slot) {
+        occupiedSlots[slot >>> 6] &= ~(1L << slot);
+        scheduleBySlot[slot] = null;
     }
 }
@@ -0,0 +1,124 @@
+package sketcher.scheduling.algorithm;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 스케줄 가중치(1, 2, 3)별 매니저 우선순위
+ * 정렬 기준(희망시간 개수, 현재 배정 시간, 매니저 가중치)을 long 하나에 묶어 두고,
+ * 배정 시간이 바뀐 매니저만 제자리를 다시 찾는다.
+ *
+ * key = [기준1 13bit][기준2 13bit][기준3 13bit][매니저 index 24bit]
+ */
+public class ManagerPriority {
+
+    private static final int FIELD_BITS = 13;
+    private static final int INDEX_BITS = 24;
+    private static final long FIELD_MASK = (1L << FIELD_BITS) - 1;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+    private static final int MAX_WEIGHT = 3;
+
+    private final long[][] keys = new long[MAX_WEIGHT + 1][];
+    private final Manager[][] orders = new Manager[MAX_WEIGHT + 1][];
+    private final int[][] positions = new int[MAX_WEIGHT + 1][];
+
+    public ManagerPriority(List<Manager> managerList) {
+        int size = managerList.size();
+        int maxIndex = -1;
+        for (Manager manager : managerList) {
+            maxIndex = Math.max(maxIndex, manager.getIndex());
+        }
+        Manager[] managersByIndex = new Manager[maxIndex + 1];
+        for (Manager manager : managerList) {
+            managersByIndex[manager.getIndex()] = manager;
+        }
+
+        for (int weight = 1; weight <= MAX_WEIGHT; weight++) {
+            long[] weightKeys = new long[size];
+            for (int i = 0; i < size; i++) {
+                weightKeys[i] = key(managerList.get(i), weight);
+            }
+            Arrays.sort(weightKeys);
+
+            Manager[] order = new Manager[size];
+            int[] position = new int[maxIndex + 1];
+            Arrays.fill(position, -1);
+            for (int i = 0; i < size; i++) {
+                order[i] = managersByIndex[(int) (weightKeys[i] & INDEX_MASK)];
+                position[order[i].getIndex()] = i;
+            }
+            keys[weight] = weightKeys;
+            orders[weight] = order;
+            positions[weight] = position;
+        }
+    }
+
+    /**
+     * 스케줄 가중치에 해당하는 우선순위 순서 (읽기 전용)
+     */
+    public Manager[] orderOf(int scheduleWeight) {
+        return orders[scheduleWeight];
+    }
+
+    /**
+     * 배정 시간이 바뀐 매니저의 위치만 다시 잡는다.
+     */
+    public void reposition(Manager manager) {
+        for (int weight = 1; weight <= MAX_WEIGHT; weight++) {
+            long[] weightKeys = keys[weight];
+            Manager[] order = orders[weight];
+            int[] position = positions[weight];
+
+            if (manager.getIndex() >= position.length || position[manager.getIndex()] < 0) continue;
+            int from = position[manager.getIndex()];
+            long newKey = key(manager, weight);
+
+            int to = from;
+            while (to + 1 < weightKeys.length && weightKeys[to + 1] < newKey) {
+                weightKeys[to] = weightKeys[to + 1];
+                order[to] = order[to + 1];
+                position[order[to].getIndex()] = to;
+                to++;
+            }
+            while (to - 1 >= 0 && weightKeys[to - 1] > newKey) {
+                weightKeys[to] = weightKeys[to - 1];
+                order[to] = order[to - 1];
+                position[order[to].getIndex()] = to;
+                to--;
+            }
+            weightKeys[to] = newKey;
+            order[to] = manager;
+            position[manager.getIndex()] = to;
+        }
+    }
+
+    public static long key(Manager manager, int scheduleWeight) {
+        long hopeTimeCount = clamp(manager.getHopeTimeCount());
+        long totalAssignTime = clamp(manager.getTotalAssignTime());
+        long weight = clamp(manager.getWeight());
+        long reversedWeight = FIELD_MASK - weight;
+
+        switch (scheduleWeight) {
+            case 1:
+                return pack(hopeTimeCount, totalAssignTime, weight, manager.getIndex());
+            case 2:
+                return pack(totalAssignTime, hopeTimeCount, reversedWeight, manager.getIndex());
+            case 3:
+                return pack(reversedWeight, hopeTimeCount, totalAssignTime, manager.getIndex());
+            default:
+                throw new IllegalArgumentException("스케줄 가중치는 1, 2, 3 중 하나여야 합니다. : " + scheduleWeight);
+        }
+    }
+
+    private static long pack(long first, long second, long third, int index) {
+        return first << (FIELD_BITS * 2 + INDEX_BITS)
+                | second << (FIELD_BITS + INDEX_BITS)
+                | third << INDEX_BITS
+                | (index & INDEX_MASK);
+    }
+
+    private static long clamp(Integer value) {
+        if (value == null || value < 0) return 0;
+        return Math.min(value, FIELD_MASK);
+    }
+}
@@ -0,0 +1,29 @@
+package sketcher.scheduling.algorithm;
+
+import java.util.List;
+
+/**
+ * 스케줄 노드에 매니저를 배정하는 매칭 엔진
+ * 하루/현재 배정 시간 상한, 동시간대 중복 배정 금지, M3 고정 스케줄 조건을 모두 지켜야 한다.
+ */
+public interface MatchingEngine {
+
+    /**
+     * @return 새로 매칭된 스케줄 노드 개수
+     */
+    default int match(List<Schedule> scheduleList, List<Manager> managerList) {
+        return match(scheduleList, managerList, Deadline.NONE);
+    }
+
+    /**
+     * 제한 시간이 지나면 남은 스케줄 노드는 미배정으로 두고 멈춘다. 같은 목록으로 다시 호출하면 이어서 배정한다.
+     *
+     * @return 새로 매칭된 스케줄 노드 개수
+     */
+    int match(List<Schedule> scheduleList, List<Manager> managerList, Deadline deadline);
+
+    /**
+     * 마지막 match 호출의 탐색 횟수 (match 를 시작할 때마다 초기화)
+     */
+    MatchingStats getStats();
+}
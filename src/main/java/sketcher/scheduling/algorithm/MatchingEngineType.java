@@ -0,0 +1,19 @@
+package sketcher.scheduling.algorithm;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.function.Supplier;
+
+@RequiredArgsConstructor
+public enum MatchingEngineType {
+    AUGMENTING_PATH(AugmentingPathMatcher::new),
+    ITERATIVE_AUGMENTING_PATH(IterativeAugmentingPathMatcher::new),
+    HOPCROFT_KARP(HopcroftKarpMatcher::new),
+    MIN_COST_FLOW(MinCostFlowMatcher::new);
+
+    private final Supplier<MatchingEngine> factory;
+
+    public MatchingEngine create() {
+        return factory.get();
+    }
+}
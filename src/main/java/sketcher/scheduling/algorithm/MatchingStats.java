@@ -0,0 +1,33 @@
+package sketcher.scheduling.algorithm;
+
+import lombok.Getter;
+
+/**
+ * 매칭 한 번(match 호출)의 탐색 횟수
+ * 탐색 중에는 필드 증가만 하고, 매칭이 끝난 뒤 SchedulingMetrics 가 한 번에 Micrometer 로 옮긴다.
+ */
+@Getter
+public class MatchingStats {
+
+    /* 증가 경로 탐색에서 스케줄 노드를 방문한 횟수 (dfs / augment 호출) */
+    long dfsCalls;
+    /* 찾은 증가 경로 수 (새로 채운 좌석 수) */
+    long augmentations;
+    /* 경로 없이 되돌아간 횟수 */
+    long backtracks;
+    /* 조건3. M3 고정 좌석에 M3 가 아닌 매니저 */
+    long rejectedByM3Only;
+    /* 조건1, 2. 하루/현재 배정 시간 상한 */
+    long rejectedByAssignLimit;
+    /* 동시간대에 이미 배정되어 있음 (Hopcroft-Karp 는 이번 단계의 다음 층이 아닌 동시간대 좌석) */
+    long rejectedBySlotConflict;
+
+    void reset() {
+        dfsCalls = 0;
+        augmentations = 0;
+        backtracks = 0;
+        rejectedByM3Only = 0;
+        rejectedByAssignLimit = 0;
+        rejectedBySlotConflict = 0;
+    }
+}
@@ -0,0 +1,172 @@
+package sketcher.scheduling.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * 최소 비용 최대 유량 (successive shortest paths + 포텐셜 다익스트라)
+ * 간선은 정방향/역방향을 짝수/홀수 인덱스로 붙여 기본형 배열에 저장한다. (역방향 = e ^ 1)
+ * 모든 간선 비용은 0 이상이어야 한다.
+ */
+class MinCostFlow {
+
+    private static final long INF = Long.MAX_VALUE / 4;
+
+    private final int nodeCount;
+    private final int[] head;
+    private int[] next;
+    private int[] to;
+    private int[] cap;
+    private long[] cost;
+    private int edgeCount = 0;
+    private long totalCost = 0;
+
+    private final long[] potential;
+    private final long[] dist;
+    private final int[] prevEdge;
+
+    /* 다익스트라용 이진 힙 (지연 삭제) */
+    private int[] heapNode;
+    private long[] heapDist;
+    private int heapSize;
+
+    MinCostFlow(int nodeCount, int expectedEdges) {
+        this.nodeCount = nodeCount;
+        this.head = new int[nodeCount];
+        Arrays.fill(head, -1);
+        int edgeCapacity = Math.max(2, expectedEdges * 2);
+        this.next = new int[edgeCapacity];
+        this.to = new int[edgeCapacity];
+        this.cap = new int[edgeCapacity];
+        this.cost = new long[edgeCapacity];
+        this.potential = new long[nodeCount];
+        this.dist = new long[nodeCount];
+        this.prevEdge = new int[nodeCount];
+        this.heapNode = new int[16];
+        this.heapDist = new long[16];
+    }
+
+    /**
+     * @return 정방향 간선 인덱스
+     */
+    int addEdge(int from, int target, int capacity, long edgeCost) {
+        if (edgeCount + 2 > to.length) {
+            int size = to.length << 1;
+            next = Arrays.copyOf(next, size);
+            to = Arrays.copyOf(to, size);
+            cap = Arrays.copyOf(cap, size);
+            cost = Arrays.copyOf(cost, size);
+        }
+        int edge = edgeCount;
+        link(from, target, capacity, edgeCost);
+        link(target, from, 0, -edgeCost);
+        return edge;
+    }
+
+    private void link(int from, int target, int capacity, long edgeCost) {
+        to[edgeCount] = target;
+        cap[edgeCount] = capacity;
+        cost[edgeCount] = edgeCost;
+        next[edgeCount] = head[from];
+        head[from] = edgeCount++;
+    }
+
+    /**
+     * source -> sink 로 최대 유량을 보내며, 그 중 비용이 가장 작은 흐름을 만든다.
+     *
+     * @return 보낸 유량
+     */
+    int flow(int source, int sink, Deadline deadline) {
+        int flow = 0;
+        while (!deadline.isExpired() && shortestPath(source, sink)) {
+            int push = Integer.MAX_VALUE;
+            for (int node = sink; node != source; node = to[prevEdge[node] ^ 1]) {
+                push = Math.min(push, cap[prevEdge[node]]);
+            }
+            for (int node = sink; node != source; node = to[prevEdge[node] ^ 1]) {
+                int edge = prevEdge[node];
+                cap[edge] -= push;
+                cap[edge ^ 1] += push;
+                totalCost += (long) push * cost[edge];
+            }
+            flow += push;
+        }
+        return flow;
+    }
+
+    private boolean shortestPath(int source, int sink) {
+        Arrays.fill(dist, INF);
+        dist[source] = 0;
+        heapSize = 0;
+        heapPush(source, 0);
+
+        while (heapSize > 0) {
+            long d = heapDist[0];
+            int node = heapPop();
+            if (d > dist[node]) continue;
+
+            for (int edge = head[node]; edge != -1; edge = next[edge]) {
+                if (cap[edge] == 0) continue;
+                int target = to[edge];
+                long candidate = d + cost[edge] + potential[node] - potential[target];   // reduced cost >= 0
+                if (candidate < dist[target]) {
+                    dist[target] = candidate;
+                    prevEdge[target] = edge;
+                    heapPush(target, candidate);
+                }
+            }
+        }
+
+        if (dist[sink] == INF) return false;
+        for (int node = 0; node < nodeCount; node++) {
+            if (dist[node] < INF) potential[node] += dist[node];
+        }
+        return true;
+    }
+
+    /**
+     * 정방향 간선에 흐른 유량 (= 역방향 간선의 잔여 용량)
+     */
+    int flowOf(int edge) {
+        return cap[edge ^ 1];
+    }
+
+    long getTotalCost() {
+        return totalCost;
+    }
+
+    private void heapPush(int node, long d) {
+        if (heapSize == heapNode.length) {
+            heapNode = Arrays.copyOf(heapNode, heapSize << 1);
+            heapDist = Arrays.copyOf(heapDist, heapSize << 1);
+        }
+        int i = heapSize++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heapDist[parent] <= d) break;
+            heapNode[i] = heapNode[parent];
+            heapDist[i] = heapDist[parent];
+            i = parent;
+        }
+        heapNode[i] = node;
+        heapDist[i] = d;
+    }
+
+    private int heapPop() {
+        int top = heapNode[0];
+        int lastNode = heapNode[--heapSize];
+        long lastDist = heapDist[heapSize];
+        int i = 0;
+        while (true) {
+            int child = (i << 1) + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && heapDist[child + 1] < heapDist[child]) child++;
+            if (heapDist[child] >= lastDist) break;
+            heapNode[i] = heapNode[child];
+            heapDist[i] = heapDist[child];
+            i = child;
+        }
+        heapNode[i] = lastNode;
+        heapDist[i] = lastDist;
+        return top;
+    }
+}
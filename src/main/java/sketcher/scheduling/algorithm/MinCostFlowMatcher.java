@@ -0,0 +1,184 @@
+package sketcher.scheduling.algorithm;
+
+import java.util.*;
+
+/**
+ * 최소 비용 유량 매칭 엔진
+ * source -> 스케줄 그룹(시간, 스케줄 가중치, M3 고정 여부가 같은 노드 묶음, 용량 = 빈 좌석 수)
+ *        -> (매니저 묶음, 시간) (용량 = 묶음 인원 : 한 사람당 동시간대 1개)
+ *        -> 매니저 묶음 -> sink (k 번째 추가 시간 간선, 용량 = 묶음 인원, 비용은 배정 시간이 늘수록 증가)
+ * 가중치, 희망시간 개수, 배정 시간, 이번 시간대 빈 시간이 모두 같은 매니저는 서로 바꿔도 비용이 같으므로 한 노드로 묶는다.
+ * 묶음에 흐른 유량은 시간별로 돌아가며 나눠주면 한 사람당 동시간대 1개, 남은 배정 가능 시간 이하가 그대로 지켜진다.
+ * 하루/현재 배정 시간 상한은 간선 용량으로, 가중치와 희망시간 개수는 비용으로 반영한다.
+ * 배정 인원이 최대가 되는 흐름 중 비용 합이 가장 작은 배정을 고른다. 이미 배정된 좌석은 그대로 둔다.
+ */
+public class MinCostFlowMatcher implements MatchingEngine {
+
+    /* 스케줄 가중치와 매니저 가중치(M1~M3) 차이 1 당 비용 */
+    static final long WEIGHT_MISMATCH_COST = 100;
+    /* 희망시간 개수 1 당 비용 (희망시간이 적은 매니저 우선) */
+    static final long HOPE_TIME_COST = 10;
+    /* 배정 시간 1 당 비용 (k 번째 추가 시간은 현재 배정 시간 + k 기준 -> 볼록 비용이라 배정 시간이 고르게 나뉨) */
+    static final long ASSIGN_TIME_COST = 20;
+
+    private static final int SOURCE = 0;
+    private static final int SINK = 1;
+
+    /* 증가 경로 탐색이 유량 네트워크 안에서 이루어지므로 augmentations(흐른 유량)와 조건별 제외(간선/묶음 단위)만 센다 */
+    private final MatchingStats stats = new MatchingStats();
+
+    @Override
+    public MatchingStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public int match(List<Schedule> scheduleList, List<Manager> managerList, Deadline deadline) {
+        stats.reset();
+        LinkedHashMap<Long, List<Schedule>> groups = new LinkedHashMap<>();
+        for (Schedule schedule : scheduleList) {
+            if (!schedule.hasRoom()) continue;
+            groups.computeIfAbsent(groupKey(schedule), key -> new ArrayList<>()).add(schedule);
+        }
+        if (groups.isEmpty()) return 0;
+
+        List<List<Schedule>> groupList = new ArrayList<>(groups.values());
+        int[] slots = distinctSlots(groupList);
+        List<List<Manager>> classList = managerClasses(managerList, slots);
+        if (classList.isEmpty()) return 0;
+
+        // 노드 번호 : source, sink, 그룹, 매니저 묶음, (매니저 묶음, 시간)
+        int groupBase = 2;
+        int classBase = groupBase + groupList.size();
+        int classSlotBase = classBase + classList.size();
+        int nodeCount = classSlotBase + classList.size() * slots.length;
+        MinCostFlow network = new MinCostFlow(nodeCount,
+                groupList.size() * (classList.size() + 1) + classList.size() * (slots.length + classList.get(0).get(0).getDayAssignLimit()));
+
+        for (int c = 0; c < classList.size(); c++) {
+            List<Manager> managerClass = classList.get(c);
+            Manager sample = managerClass.get(0);
+            int classNode = classBase + c;
+            for (int s = 0; s < slots.length; s++) {
+                if (!sample.isOccupied(slots[s])) {
+                    network.addEdge(classSlotBase + c * slots.length + s, classNode, managerClass.size(), 0);
+                }
+            }
+            int remaining = remainingTime(sample);
+            for (int k = 0; k < remaining; k++) {
+                network.addEdge(classNode, SINK, managerClass.size(), ASSIGN_TIME_COST * (sample.getTotalAssignTime() + k));
+            }
+        }
+
+        int[] groupSlot = new int[groupList.size()];
+        int[][] assignEdges = new int[groupList.size()][];
+        for (int g = 0; g < groupList.size(); g++) {
+            List<Schedule> group = groupList.get(g);
+            Schedule sample = group.get(0);
+            groupSlot[g] = Arrays.binarySearch(slots, sample.getSlot());
+            int room = 0;
+            for (Schedule schedule : group) {
+                room += schedule.getRoom();
+            }
+            network.addEdge(SOURCE, groupBase + g, room, 0);
+
+            assignEdges[g] = new int[classList.size()];
+            for (int c = 0; c < classList.size(); c++) {
+                List<Manager> managerClass = classList.get(c);
+                Manager manager = managerClass.get(0);
+                if (sample.isManagerWeightFlag() && manager.getWeight() != 3) {   //조건3. managerWeightFlag가 true라면 매니저는 반드시 M3여야 함
+                    stats.rejectedByM3Only += managerClass.size();
+                    assignEdges[g][c] = -1;
+                    continue;
+                }
+                assignEdges[g][c] = network.addEdge(groupBase + g, classSlotBase + c * slots.length + groupSlot[g],
+                        managerClass.size(), cost(sample, manager));
+            }
+        }
+
+        int count = network.flow(SOURCE, SINK, deadline);   //매칭 개수
+        stats.augmentations += count;
+
+        // 묶음별로 시간 순서대로, 같은 시간의 유량은 연속된 서로 다른 매니저에게 돌아가며 배정
+        int[] nextInGroup = new int[groupList.size()];   // 그룹 안에서 빈 좌석이 남은 노드 위치
+        for (int c = 0; c < classList.size(); c++) {
+            List<Manager> managerClass = classList.get(c);
+            int pointer = 0;
+            for (int s = 0; s < slots.length; s++) {
+                for (int g = 0; g < groupList.size(); g++) {
+                    if (groupSlot[g] != s || assignEdges[g][c] < 0) continue;
+                    int flow = network.flowOf(assignEdges[g][c]);
+                    for (int unit = 0; unit < flow; unit++) {
+                        Manager manager = managerClass.get(pointer++ % managerClass.size());
+                        List<Schedule> group = groupList.get(g);
+                        while (!group.get(nextInGroup[g]).hasRoom()) nextInGroup[g]++;
+                        Schedule scheduleNode = group.get(nextInGroup[g]);
+                        manager.updateAssignScheduleList(null, scheduleNode);
+                        scheduleNode.assign(manager);
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    static long cost(Schedule schedule, Manager manager) {
+        return WEIGHT_MISMATCH_COST * Math.abs(schedule.getWeight() - manager.getWeight())
+                + HOPE_TIME_COST * manager.getHopeTimeCount();
+    }
+
+    /**
+     * 비용과 제약이 같은 매니저끼리 묶음 (가중치, 희망시간 개수, 현재/하루 배정 시간, 이번 시간대 슬롯별 배정 여부)
+     */
+    private List<List<Manager>> managerClasses(List<Manager> managerList, int[] slots) {
+        LinkedHashMap<List<Long>, List<Manager>> classes = new LinkedHashMap<>();
+        for (Manager manager : managerList) {
+            if (remainingTime(manager) == 0) {      // 조건1, 2. 하루/현재 배정 시간 상한
+                stats.rejectedByAssignLimit++;
+                continue;
+            }
+            List<Long> key = new ArrayList<>(4 + (slots.length >>> 6) + 1);
+            key.add((long) manager.getWeight());
+            key.add((long) manager.getHopeTimeCount());
+            key.add((long) manager.getTotalAssignTime());
+            key.add((long) manager.getDayAssignTime());
+            long occupied = 0;
+            for (int s = 0; s < slots.length; s++) {
+                if (manager.isOccupied(slots[s])) occupied |= 1L << (s & 63);
+                if ((s & 63) == 63) {
+                    key.add(occupied);
+                    occupied = 0;
+                }
+            }
+            key.add(occupied);
+            classes.computeIfAbsent(key, k -> new ArrayList<>()).add(manager);
+        }
+        return new ArrayList<>(classes.values());
+    }
+
+    private int remainingTime(Manager manager) {
+        return Math.max(0, Math.min(manager.getDayAssignLimit() - manager.getDayAssignTime(),
+                manager.getTotalAssignLimit() - manager.getTotalAssignTime()));
+    }
+
+    private long groupKey(Schedule schedule) {
+        return ((long) schedule.getSlot() << 3) | ((long) schedule.getWeight() << 1) | (schedule.isManagerWeightFlag() ? 1 : 0);
+    }
+
+    private int[] distinctSlots(List<List<Schedule>> groupList) {
+        boolean[] seen = new boolean[Schedule.slotsPerWeek(groupList.get(0).get(0).getSlotsPerHour())];
+        int size = 0;
+        for (List<Schedule> group : groupList) {
+            int slot = group.get(0).getSlot();
+            if (!seen[slot]) {
+                seen[slot] = true;
+                size++;
+            }
+        }
+        int[] slots = new int[size];
+        for (int slot = 0, i = 0; slot < seen.length; slot++) {
+            if (seen[slot]) slots[i++] = slot;
+        }
+        return slots;
+    }
+}
@@ -11,4 +11,6 @@ public class ResultScheduling {
     public int startTime;
     public int userCode;
     public int currentTime;
+    /* 슬롯 시작 분 (한 시간 단위 배정이면 항상 0) */
+    public int startMinute;
 }
\ No newline at end of file
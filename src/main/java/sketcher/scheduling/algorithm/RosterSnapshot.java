@@ -0,0 +1,108 @@
+package sketcher.scheduling.algorithm;
+
+import sketcher.scheduling.object.HopeTime;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 스케줄링에 쓰이는 매니저 명단 (매니저 코드, 입사일, 희망시간 비트)
+ * 한 번 읽어 입사일 순으로 정렬해 두고, 희망시간대별 명단은 메모리에서 바로 꺼낸다.
+ */
+public class RosterSnapshot {
+
+    private final int[] codes;
+    private final LocalDateTime[] joinDates;
+    private final int[] hopeTimeMasks;
+    private final EnumMap<HopeTime, int[]> codesByHopeTime = new EnumMap<>(HopeTime.class);
+
+    private RosterSnapshot(List<Row> rows) {
+        rows.sort(Comparator.comparing((Row row) -> row.joinDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparingInt(row -> row.code));
+
+        int size = rows.size();
+        codes = new int[size];
+        joinDates = new LocalDateTime[size];
+        hopeTimeMasks = new int[size];
+        for (int i = 0; i < size; i++) {
+            Row row = rows.get(i);
+            codes[i] = row.code;
+            joinDates[i] = row.joinDate;
+            hopeTimeMasks[i] = row.hopeTimeMask;
+        }
+
+        for (HopeTime hopeTime : HopeTime.values()) {
+            int bit = bitOf(hopeTime);
+            int count = 0;
+            for (int mask : hopeTimeMasks) {
+                if ((mask & bit) != 0) count++;
+            }
+            int[] bandCodes = new int[count];
+            for (int i = 0, j = 0; i < size; i++) {
+                if ((hopeTimeMasks[i] & bit) != 0) bandCodes[j++] = codes[i];
+            }
+            codesByHopeTime.put(hopeTime, bandCodes);
+        }
+    }
+
+    /**
+     * 해당 희망시간대를 가진 매니저 코드 (입사일 오름차순)
+     */
+    public int[] codesByHopeTime(HopeTime hopeTime) {
+        return codesByHopeTime.get(hopeTime);
+    }
+
+    public int size() {
+        return codes.length;
+    }
+
+    public int codeAt(int i) {
+        return codes[i];
+    }
+
+    public LocalDateTime joinDateAt(int i) {
+        return joinDates[i];
+    }
+
+    public int hopeTimeMaskAt(int i) {
+        return hopeTimeMasks[i];
+    }
+
+    public static int bitOf(HopeTime hopeTime) {
+        return 1 << hopeTime.ordinal();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final LinkedHashMap<Integer, Row> rows = new LinkedHashMap<>();
+
+        /**
+         * 매니저 - 희망시간 한 행씩 추가 (같은 매니저는 희망시간 비트가 합쳐진다)
+         */
+        public Builder add(int code, LocalDateTime joinDate, Integer startTime) {
+            Row row = rows.computeIfAbsent(code, key -> new Row(code, joinDate));
+            if (startTime != null) {
+                HopeTime.valueOfStarTime(startTime).ifPresent(hopeTime -> row.hopeTimeMask |= bitOf(hopeTime));
+            }
+            return this;
+        }
+
+        public RosterSnapshot build() {
+            return new RosterSnapshot(new ArrayList<>(rows.values()));
+        }
+    }
+
+    private static class Row {
+        private final int code;
+        private final LocalDateTime joinDate;
+        private int hopeTimeMask;
+
+        private Row(int code, LocalDateTime joinDate) {
+            this.code = code;
+            this.joinDate = joinDate;
+        }
+    }
+}
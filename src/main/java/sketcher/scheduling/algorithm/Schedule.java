@@ -1,29 +1,89 @@
 package sketcher.scheduling.algorithm;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * 한 슬롯의 스케줄 노드 (필요 인원 = capacity)
+ * M3 고정 좌석은 managerWeightFlag 가 true 인 별도 노드로 두고, 같은 슬롯의 나머지 좌석은 일반 노드 하나에 담는다.
+ * 슬롯 길이는 한 시간(기본)이거나 한 시간을 slotsPerHour 개로 나눈 30분 / 15분이다.
+ */
 @Getter
 @Setter
 @NoArgsConstructor
 public class Schedule {
+    public static final int HOURS_PER_DAY = 24;
+    public static final int HOURS_PER_WEEK = 7 * HOURS_PER_DAY;
+
     private Integer id;
+    private int day;
     private Integer time;
     private Integer weight;
     private boolean managerWeightFlag;
-    private Manager manager;
+    private int capacity = 1;
+    /* 한 시간을 나눈 슬롯 수 (60분 = 1, 30분 = 2, 15분 = 4) / 이 노드가 그 시간의 몇 번째 슬롯인지 */
+    private int slotsPerHour = 1;
+    private int slotOfHour;
+    @Setter(AccessLevel.NONE)
+    private List<Manager> managers = new ArrayList<>(1);
+
+    /**
+     * 일주일 기준 슬롯 ((요일 * 24 + 시간) * slotsPerHour + 시간 안의 슬롯)
+     */
+    public int getSlot() {
+        return getHourSlot() * slotsPerHour + slotOfHour;
+    }
+
+    /**
+     * 일주일 기준 시간 슬롯 (요일 * 24 + 시간) - 배정 기록(한 시간 단위)과 맞출 때 사용
+     */
+    public int getHourSlot() {
+        return day * HOURS_PER_DAY + time;
+    }
+
+    public int getStartMinute() {
+        return slotOfHour * 60 / slotsPerHour;
+    }
+
+    public static int slotsPerWeek(int slotsPerHour) {
+        return HOURS_PER_WEEK * slotsPerHour;
+    }
 
     public boolean isManagerWeightFlag() {
         return managerWeightFlag;
     }
 
+    public boolean hasRoom() {
+        return managers.size() < capacity;
+    }
+
+    public int getRoom() {
+        return capacity - managers.size();
+    }
+
+    public void assign(Manager manager) {
+        managers.add(manager);
+    }
+
+    public void unassign(Manager manager) {
+        managers.remove(manager);
+    }
+
     public Schedule(Integer id, Integer time, Integer weight, boolean managerWeightFlag) {
+        this(id, time, weight, managerWeightFlag, 1);
+    }
+
+    public Schedule(Integer id, Integer time, Integer weight, boolean managerWeightFlag, int capacity) {
         this.id = id;
         this.time = time;
         this.weight = weight;
         this.managerWeightFlag = managerWeightFlag;
+        this.capacity = capacity;
+        this.managers = new ArrayList<>(capacity);
     }
 }
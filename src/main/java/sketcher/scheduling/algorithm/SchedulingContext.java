@@ -0,0 +1,59 @@
+package sketcher.scheduling.algorithm;
+
+import lombok.Getter;
+import lombok.Setter;
+import sketcher.scheduling.domain.EstimatedNumOfCardsPerHour;
+import sketcher.scheduling.domain.PercentageOfManagerWeights;
+import sketcher.scheduling.object.HopeTime;
+
+import java.util.*;
+
+/**
+ * 스케줄링 한 번(요청 한 건)에만 쓰이는 상태
+ * AutoScheduling 빈은 상태를 갖지 않고, 실행마다 새 컨텍스트를 만들어 넘긴다.
+ * 제한 시간으로 중간에 멈춘 경우 진행 위치(요일, 시간대)가 남아 있어 같은 컨텍스트로 이어서 배정할 수 있다.
+ */
+@Getter
+@Setter
+public class SchedulingContext {
+    private final MatchingEngine matchingEngine;
+    private final List<Manager> managerList = new ArrayList<>();
+    private double totalCardValueAvg;
+    private double fixedM3Ratio = 0;
+    private int numOfCreatedScheduleNode = 0;
+
+    /* 입력값 지문 (같은 입력의 배정 결과 재사용) */
+    private String inputFingerprint;
+
+    /* 입력값 (한 번만 읽음) */
+    private LinkedHashMap<Integer, Manager> managerNodes;
+    private RosterSnapshot roster;
+    private EnumMap<HopeTime, List<EstimatedNumOfCardsPerHour>> cardsByHopeTime;
+    private List<PercentageOfManagerWeights> percentage;
+    private int numOfDays;
+    /* 한 시간을 나눈 슬롯 수 (60분 = 1, 30분 = 2, 15분 = 4) */
+    private int slotsPerHour = 1;
+    /* 지난주 슬롯(요일 * 24 + 시간)별 배정 매니저 코드 -> 조건을 만족하면 먼저 그대로 배정 */
+    private Map<Integer, List<Integer>> warmStartBySlot = Collections.emptyMap();
+    private int numOfWarmStartKept = 0;
+    /* 매니저 코드 -> 그 주에 이미 저장된 배정 시간 (주 배정 상한에만 포함하고, 결과의 현재 배정 시간에서는 뺀다) */
+    private Map<Integer, Long> savedHoursByCode = Collections.emptyMap();
+
+    /* 진행 위치 : 요일별 - 시간대(배정 순서)별 스케줄 노드 */
+    private final List<List<List<Schedule>>> scheduleListsByDay = new ArrayList<>();
+    private int day = 0;
+    private int band = 0;
+    private boolean bandPrepared = false;
+
+    public SchedulingContext(MatchingEngine matchingEngine) {
+        this.matchingEngine = matchingEngine;
+    }
+
+    public int nextScheduleNodeId() {
+        return ++numOfCreatedScheduleNode;
+    }
+
+    public boolean isComplete() {
+        return day >= numOfDays;
+    }
+}
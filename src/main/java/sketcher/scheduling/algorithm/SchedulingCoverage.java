@@ -0,0 +1,56 @@
+package sketcher.scheduling.algorithm;
+
+import lombok.Getter;
+
+/**
+ * 요일 / 슬롯별 필요 인원과 배정된 인원 (슬롯 = 시간 * slotsPerHour + 시간 안의 슬롯)
+ * 아직 배정을 시작하지 않은 시간대는 예상 카드 수로 계산한 필요 인원만 채워진다.
+ */
+@Getter
+public class SchedulingCoverage {
+
+    private final boolean complete;
+    private final int slotsPerHour;
+    private final int[][] required;
+    private final int[][] filled;
+
+    public SchedulingCoverage(boolean complete, int numOfDays) {
+        this(complete, numOfDays, 1);
+    }
+
+    public SchedulingCoverage(boolean complete, int numOfDays, int slotsPerHour) {
+        this.complete = complete;
+        this.slotsPerHour = slotsPerHour;
+        this.required = new int[numOfDays][Schedule.HOURS_PER_DAY * slotsPerHour];
+        this.filled = new int[numOfDays][Schedule.HOURS_PER_DAY * slotsPerHour];
+    }
+
+    void add(int day, int slotOfDay, int numOfRequired, int numOfFilled) {
+        required[day][slotOfDay] += numOfRequired;
+        filled[day][slotOfDay] += numOfFilled;
+    }
+
+    public int getNumOfDays() {
+        return required.length;
+    }
+
+    public int unfilled(int day, int slotOfDay) {
+        return required[day][slotOfDay] - filled[day][slotOfDay];
+    }
+
+    public int totalRequired() {
+        int total = 0;
+        for (int[] hours : required) {
+            for (int count : hours) total += count;
+        }
+        return total;
+    }
+
+    public int totalFilled() {
+        int total = 0;
+        for (int[] hours : filled) {
+            for (int count : hours) total += count;
+        }
+        return total;
+    }
+}
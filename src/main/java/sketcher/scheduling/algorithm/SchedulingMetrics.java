@@ -0,0 +1,85 @@
+package sketcher.scheduling.algorithm;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스케줄 자동 배정 단계별 시간 / 탐색 횟수 (Actuator : /actuator/metrics/scheduling.phase 등)
+ * 태그 : band(시간대, 시간대와 무관한 단계는 ALL), size(이번 시간대 매니저 수 구간), engine(매칭 엔진)
+ * 매니저 수는 구간으로만 태그를 달아 태그 조합 수가 늘어나지 않게 한다.
+ */
+@Component
+public class SchedulingMetrics {
+
+    public static final String ALL_BANDS = "ALL";
+
+    static final String PHASE_TIMER = "scheduling.phase";
+    static final String DFS_CALLS = "scheduling.matching.dfs.calls";
+    static final String AUGMENTATIONS = "scheduling.matching.augmentations";
+    static final String BACKTRACKS = "scheduling.matching.backtracks";
+    static final String REJECTIONS = "scheduling.matching.rejections";
+    static final String UNMATCHED_SEATS = "scheduling.matching.unmatched.seats";
+
+    private static final int[] SIZE_BOUNDS = {100, 1_000, 10_000};
+
+    private final MeterRegistry meterRegistry;
+
+    public SchedulingMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 아무 것도 기록하지 않음 (테스트, 벤치마크용)
+     */
+    public static SchedulingMetrics disabled() {
+        return new SchedulingMetrics(new CompositeMeterRegistry());
+    }
+
+    /**
+     * @param phase roster_load, manager_weight, schedule_nodes, warm_start, matching, local_search, result_build
+     */
+    public void recordPhase(String phase, String band, int size, long startNanos) {
+        Timer.builder(PHASE_TIMER)
+                .tags(Tags.of("phase", phase, "band", band, "size", sizeBucketOf(size)))
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 매칭 한 번의 탐색 횟수와 끝나고도 비어 있는 좌석 수
+     */
+    public void recordMatching(MatchingEngineType engine, String band, int size, MatchingStats stats, List<Schedule> scheduleList) {
+        Tags tags = Tags.of("engine", engine.name(), "band", band, "size", sizeBucketOf(size));
+        increment(DFS_CALLS, tags, stats.getDfsCalls());
+        increment(AUGMENTATIONS, tags, stats.getAugmentations());
+        increment(BACKTRACKS, tags, stats.getBacktracks());
+        increment(REJECTIONS, tags.and("constraint", "m3_only"), stats.getRejectedByM3Only());
+        increment(REJECTIONS, tags.and("constraint", "assign_limit"), stats.getRejectedByAssignLimit());
+        increment(REJECTIONS, tags.and("constraint", "slot_conflict"), stats.getRejectedBySlotConflict());
+
+        int unmatched = 0;
+        for (Schedule schedule : scheduleList) {
+            unmatched += schedule.getRoom();
+        }
+        increment(UNMATCHED_SEATS, tags, unmatched);
+    }
+
+    private void increment(String name, Tags tags, long amount) {
+        Counter.builder(name).tags(tags).register(meterRegistry).increment(amount);
+    }
+
+    static String sizeBucketOf(int size) {
+        for (int bound : SIZE_BOUNDS) {
+            if (size < bound) return "lt" + bound;
+        }
+        return "ge" + SIZE_BOUNDS[SIZE_BOUNDS.length - 1];
+    }
+}
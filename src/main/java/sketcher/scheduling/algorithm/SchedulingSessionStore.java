@@ -0,0 +1,42 @@
+package sketcher.scheduling.algorithm;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 제한 시간 안에 끝나지 않은 스케줄 배정 컨텍스트 보관 (이어서 배정하기 용)
+ * 최근에 사용한 순서로 최대 maxSize 개만 유지한다.
+ */
+@Component
+public class SchedulingSessionStore {
+
+    private final Map<String, SchedulingContext> sessions;
+
+    public SchedulingSessionStore(@Value("${scheduling.session.max-size:16}") int maxSize) {
+        this.sessions = new LinkedHashMap<String, SchedulingContext>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SchedulingContext> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized String save(SchedulingContext context) {
+        String sessionId = UUID.randomUUID().toString();
+        sessions.put(sessionId, context);
+        return sessionId;
+    }
+
+    public synchronized Optional<SchedulingContext> find(String sessionId) {
+        return Optional.ofNullable(sessions.get(sessionId));
+    }
+
+    public synchronized void remove(String sessionId) {
+        sessions.remove(sessionId);
+    }
+}
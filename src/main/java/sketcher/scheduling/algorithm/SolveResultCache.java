@@ -0,0 +1,48 @@
+package sketcher.scheduling.algorithm;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 배정을 마친 컨텍스트를 입력값 지문으로 보관 (같은 입력으로 다시 요청하면 바로 결과 반환)
+ * 최근에 사용한 순서로 최대 maxSize 개만 유지하고, 예상 카드 수 / 가중치 비율 / 매니저 명단이 바뀌면 모두 비운다.
+ */
+@Component
+public class SolveResultCache {
+
+    private final Map<String, SchedulingContext> contexts;
+
+    public SolveResultCache(@Value("${scheduling.result-cache.max-size:8}") int maxSize) {
+        this.contexts = new LinkedHashMap<String, SchedulingContext>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SchedulingContext> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * 보관하지 않는 캐시 (테스트, 벤치마크용)
+     */
+    public static SolveResultCache disabled() {
+        return new SolveResultCache(0);
+    }
+
+    public synchronized Optional<SchedulingContext> find(String fingerprint) {
+        return Optional.ofNullable(contexts.get(fingerprint));
+    }
+
+    public synchronized void save(SchedulingContext context) {
+        if (context.getInputFingerprint() != null && context.isComplete()) {
+            contexts.put(context.getInputFingerprint(), context);
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        contexts.clear();
+    }
+}
@@ -0,0 +1,103 @@
+package sketcher.scheduling.algorithm;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import sketcher.scheduling.exception.SolverBusyException;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 스케줄 자동 배정 전용 스레드 풀
+ * 동시에 실행되는 배정 작업 수와 대기열 크기를 제한하고, 대기열이 가득 차면 요청을 거절한다.
+ * 실행 중 / 대기 작업 수와 거절 횟수는 Actuator 로 확인 (/actuator/metrics/scheduling.solver.*)
+ */
+@Slf4j
+@Component
+public class SolverPool {
+
+    static final String ACTIVE = "scheduling.solver.active";
+    static final String QUEUED = "scheduling.solver.queued";
+    static final String SUBMITTED = "scheduling.solver.submitted";
+    static final String COMPLETED = "scheduling.solver.completed";
+    static final String REJECTED = "scheduling.solver.rejected";
+
+    private final ThreadPoolExecutor executor;
+    private final Counter submittedCounter;
+    private final Counter completedCounter;
+    private final Counter rejectedCounter;
+
+    public SolverPool(@Value("${scheduling.solver.pool-size:2}") int poolSize,
+                      @Value("${scheduling.solver.queue-capacity:8}") int queueCapacity,
+                      MeterRegistry meterRegistry) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "scheduling-solver-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder(ACTIVE, executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+        Gauge.builder(QUEUED, executor, e -> e.getQueue().size()).register(meterRegistry);
+        this.submittedCounter = meterRegistry.counter(SUBMITTED);
+        this.completedCounter = meterRegistry.counter(COMPLETED);
+        this.rejectedCounter = meterRegistry.counter(REJECTED);
+    }
+
+    /**
+     * 배정 작업을 풀에서 실행하고 끝날 때까지 기다린다.
+     *
+     * @throws SolverBusyException 실행 중인 작업과 대기열이 모두 가득 찬 경우
+     */
+    public <T> T solve(Callable<T> task) {
+        Future<T> future = submit(task);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("스케줄 배정 대기 중 인터럽트가 발생했습니다.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * 배정 작업을 풀에 넣기만 하고 기다리지 않는다. (결과를 작업 안에서 바로 내보내는 스트리밍 응답용)
+     *
+     * @throws SolverBusyException 실행 중인 작업과 대기열이 모두 가득 찬 경우
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        try {
+            Future<T> future = executor.submit(() -> {
+                try {
+                    return task.call();
+                } finally {
+                    completedCounter.increment();
+                }
+            });
+            submittedCounter.increment();
+            return future;
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("scheduling solver rejected : active={}, queued={}, rejectedTotal={}",
+                    executor.getActiveCount(), executor.getQueue().size(), (long) rejectedCounter.count());
+            throw new SolverBusyException();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -39,6 +39,7 @@ protected void configure(HttpSecurity http) throws Exception {
 //                .antMatchers("/calendar_admin").hasAuthority("ADMIN")   //인증 사용자만 허용
                 .antMatchers("/calendar").authenticated()   //인증 사용자만 허용
                 .antMatchers("/calendar_admin").authenticated()   //인증 사용자만 허용
+                .antMatchers("/actuator/**").authenticated()   //인증 사용자만 허용 (배정 단계별 지표)
                 .antMatchers("/login").anonymous()    //인증되지 않은 사용자만 허용
 //                .antMatchers("/**").permitAll()    //모든 사용자 허용
                 .and()
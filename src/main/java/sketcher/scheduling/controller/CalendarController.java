@@ -2,29 +2,36 @@
 
 //import com.sun.deploy.net.HttpResponse;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import sketcher.scheduling.config.LocalDateTimeConfig;
 import sketcher.scheduling.domain.ManagerAssignSchedule;
 import sketcher.scheduling.domain.User;
 import sketcher.scheduling.dto.ManagerAssignScheduleDto;
 import sketcher.scheduling.dto.ScheduleUpdateReqDto;
+import sketcher.scheduling.exception.InvalidCalendarRangeException;
 import sketcher.scheduling.service.ManagerAssignScheduleService;
+import sketcher.scheduling.service.ManagerWeekHoursService;
 import sketcher.scheduling.service.ScheduleUpdateReqService;
 import sketcher.scheduling.service.UserService;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 
 @Api(tags = {"스케줄 로직 API "})
@@ -34,50 +41,32 @@
 public class CalendarController {
 
     private static final Logger log = LoggerFactory.getLogger(CalendarController.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    /* FullCalendar 월 화면(6주)보다 넉넉하게 */
+    static final int MAX_CALENDAR_RANGE_DAYS = 100;
 
     private final ManagerAssignScheduleService managerAssignScheduleService;
     private final UserService userService;
     private final ScheduleUpdateReqService updateReqService;
+    private final ManagerWeekHoursService managerWeekHoursService;
 
+    LocalDateTimeConfig ldt = new LocalDateTimeConfig();
 
+
+    /**
+     * 로그인한 매니저의 배정 중 FullCalendar 가 보여주는 기간(start ~ end)과 겹치는 것만 JSON 배열로 바로 쓴다.
+     */
     @ApiOperation(value = "스케줄 개별 조회")
     @GetMapping("/calendar")
-    @ResponseBody
-    public List<Map<String, Object>> showEachEvent(Authentication authentication) throws Exception {
-
-        JSONObject jsonObj = new JSONObject();
-        JSONArray jsonArr = new JSONArray();
-
-        HashMap<String, Object> hash = new HashMap<>();
-        List<String> color = getColor();
-
-
+    public void showEachEvent(Authentication authentication,
+                              @RequestParam(required = false) String start,
+                              @RequestParam(required = false) String end,
+                              HttpServletResponse response) throws IOException {
         User principal = (User) authentication.getPrincipal();
-        String username = principal.getUsername();
-        try{
-            if (!username.isEmpty()) {
-                User user = userService.findByUsername(username).get();
-                List<ManagerAssignSchedule> byUser = managerAssignScheduleService.findByUser(user);
-
-                for (ManagerAssignSchedule managerAssignSchedule : byUser) {
-                    hash.put("title", managerAssignSchedule.getUser().getUsername());
-                    hash.put("start", managerAssignSchedule.getScheduleDateTimeStart());
-                    hash.put("end", managerAssignSchedule.getScheduleDateTimeEnd());
-
-                    Integer code = managerAssignSchedule.getUser().getCode();
-                    if (code / color.size() > 0)
-                        code = code % color.size();
-                    hash.put("backgroundColor", color.get(code));
-
-                    jsonObj = new JSONObject(hash);
-                    jsonArr.add(jsonObj);
-                }
-            }
-        }catch (NoSuchElementException e){
-            throw new NoSuchElementException("로그인 정보가 존재하지 않습니다.");
-        }
+        User user = userService.findByUsername(principal.getUsername())
+                .orElseThrow(() -> new NoSuchElementException("로그인 정보가 존재하지 않습니다."));
 
-        return jsonArr;
+        writeEvents(response, start, end, user.getCode());
     }
 
 
@@ -123,70 +112,25 @@ private boolean managerFirstRequestUpdateSchedule(ManagerAssignSchedule managerA
     }
 
     /**
-     * calendar-admin 페이지 조회
+     * calendar-admin 페이지 조회 (FullCalendar 가 보여주는 기간과 겹치는 배정만)
      */
     @ApiOperation(value = "스케줄 전체 조회")
     @GetMapping("/calendar-admin")
-    @ResponseBody
-    public List<Map<String, Object>> showAllEvent() throws Exception {
-
-        JSONObject jsonObj = new JSONObject();
-        JSONArray jsonArr = new JSONArray();
-
-        HashMap<String, Object> hash = new HashMap<>();
-        List<String> color = getColor();
-
-
-        List<ManagerAssignSchedule> list = managerAssignScheduleService.AssignScheduleFindAll();
-
-
-        for (ManagerAssignSchedule managerAssignSchedule : list) {
-            hash.put("title", managerAssignSchedule.getUser().getUsername());
-            hash.put("start", managerAssignSchedule.getScheduleDateTimeStart());
-            hash.put("end", managerAssignSchedule.getScheduleDateTimeEnd());
-
-            Integer code = managerAssignSchedule.getUser().getCode();
-            if (code / color.size() > 0)
-                code = code % color.size();
-            hash.put("backgroundColor", color.get(code));
-
-            jsonObj = new JSONObject(hash);
-            jsonArr.add(jsonObj);
-        }
-        return jsonArr;
+    public void showAllEvent(@RequestParam(required = false) String start,
+                             @RequestParam(required = false) String end,
+                             HttpServletResponse response) throws IOException {
+        writeEvents(response, start, end, null);
     }
 
     /**
-     * calendar-admin-update 페이지 조회
+     * calendar-admin-update 페이지 조회 (FullCalendar 가 보여주는 기간과 겹치는 배정만)
      */
     @ApiOperation(value = "스케줄 수정 조회")
     @GetMapping("/calendar-admin-update")
-    @ResponseBody
-    public List<Map<String, Object>> showAllEventInUpdate() throws Exception {
-
-        JSONObject jsonObj = new JSONObject();
-        JSONArray jsonArr = new JSONArray();
-
-        HashMap<String, Object> hash = new HashMap<>();
-
-        List<String> color = getColor();
-
-        List<ManagerAssignSchedule> list = managerAssignScheduleService.AssignScheduleFindAll();
-
-        for (ManagerAssignSchedule managerAssignSchedule : list) {
-            hash.put("title", managerAssignSchedule.getUser().getUsername());
-            hash.put("start", managerAssignSchedule.getScheduleDateTimeStart());
-            hash.put("end", managerAssignSchedule.getScheduleDateTimeEnd());
-
-            Integer code = managerAssignSchedule.getUser().getCode();
-            if (code / color.size() > 0)
-                code = code % color.size();
-            hash.put("backgroundColor", color.get(code));
-
-            jsonObj = new JSONObject(hash);
-            jsonArr.add(jsonObj);
-        }
-        return jsonArr;
+    public void showAllEventInUpdate(@RequestParam(required = false) String start,
+                                     @RequestParam(required = false) String end,
+                                     HttpServletResponse response) throws IOException {
+        writeEvents(response, start, end, null);
     }
 
     /**
@@ -311,39 +255,27 @@ public String modifyEvent(@RequestBody List<Map<String, Object>> param) throws E
         return "/full-calendar/calendar-admin-update";
     }
 
+    /**
+     * 매니저별 전체 배정 시간(times)과 이번 주 배정 시간(weekTimes)
+     * 매니저마다 배정 목록을 불러오지 않고 주 배정 시간 집계(manager_week_hours)에서 읽는다.
+     */
     //    @ApiOperation(value = "리모컨 조회")
     @GetMapping("/create_schedule")
     public String managerRemote(Model model) {
 
         List<User> allUser = userService.findAll();
-        Long CalHours = 0L;
+        Map<Integer, Long> totalHoursByCode = managerWeekHoursService.findTotalHours();
+        Map<Integer, Long> weekHoursByCode = managerWeekHoursService.findHoursByWeek(ldt.getLocalTimeNooN());
         List<Long> betweenHours = new ArrayList<>();
-
-/**
- * 매주마다 달라지는 근무 시간에 따른 몆 주차 계산하기
- */
-
-//        LocalDateTime today = LocalDateTime.now();
-        Calendar c = Calendar.getInstance();
-//        String week = String.valueOf(c.get(Calendar.WEEK_OF_MONTH));
-        String year = String.valueOf(c.get(Calendar.WEEK_OF_YEAR));
-//        System.out.println("week = " + week);
-        System.out.println("year = " + year);
-//
-//        int monthValue = today.getMonthValue();
-//        System.out.println("monthValue = " + monthValue);
-
+        List<Long> weekHours = new ArrayList<>();
         for (User user : allUser) {
-            List<ManagerAssignSchedule> managerAssignScheduleList = user.getManagerAssignScheduleList();
-            for (ManagerAssignSchedule managerAssignSchedule : managerAssignScheduleList) {
-                CalHours += ChronoUnit.HOURS.between(managerAssignSchedule.getScheduleDateTimeStart(), managerAssignSchedule.getScheduleDateTimeEnd());
-            }
-            betweenHours.add(CalHours);
-            CalHours = 0L;
+            betweenHours.add(totalHoursByCode.getOrDefault(user.getCode(), 0L));
+            weekHours.add(weekHoursByCode.getOrDefault(user.getCode(), 0L));
         }
 
         model.addAttribute("users", allUser);
         model.addAttribute("times", betweenHours);
+        model.addAttribute("weekTimes", weekHours);
 
         return "/full-calendar/create_schedule";
     }
@@ -369,6 +301,51 @@ public String getChecked(HttpServletRequest request , @RequestParam(value = "che
         return "/full-calendar/create_schedule";
     }
 
+    /**
+     * 기간 안의 배정을 DB 에서 한 건씩 읽으면서 바로 응답에 쓴다. (응답 크기 / 시간이 전체 기록이 아닌 보이는 기간에 비례)
+     * start / end 가 없으면 이번 주
+     */
+    private void writeEvents(HttpServletResponse response, String start, String end, Integer userCode) throws IOException {
+        LocalDateTime startDate = start != null ? parseCalendarDate(start) : ldt.getWeekStart(ldt.getLocalTimeNooN());
+        LocalDateTime endDate = end != null ? parseCalendarDate(end) : startDate.plusDays(7);
+        if (!startDate.isBefore(endDate) || endDate.isAfter(startDate.plusDays(MAX_CALENDAR_RANGE_DAYS))) {
+            throw new InvalidCalendarRangeException("조회 기간은 " + MAX_CALENDAR_RANGE_DAYS + "일 이내여야 합니다. (" + start + " ~ " + end + ")");
+        }
+
+        List<String> color = getColor();
+        response.setContentType("application/json;charset=UTF-8");
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(response.getOutputStream())) {
+            json.writeStartArray();
+            managerAssignScheduleService.forEachCalendarEvent(startDate, endDate, userCode, event -> {
+                try {
+                    json.writeStartObject();
+                    json.writeStringField("title", event.getTitle());
+                    json.writeStringField("start", event.getStart().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+                    json.writeStringField("end", event.getEnd().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+                    json.writeStringField("backgroundColor", color.get(event.getUserCode() % color.size()));
+                    json.writeEndObject();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            json.writeEndArray();
+        }
+    }
+
+    /**
+     * FullCalendar 의 start / end (2022-08-01, 2022-08-01T00:00:00+09:00) -> 화면 기준 시각 (오프셋은 버림)
+     */
+    private LocalDateTime parseCalendarDate(String value) {
+        try {
+            if (value.length() >= 19) {
+                return LocalDateTime.parse(value.substring(0, 19));
+            }
+            return LocalDate.parse(value.substring(0, Math.min(10, value.length()))).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            throw new InvalidCalendarRangeException("조회 기간 형식이 올바르지 않습니다. (" + value + ")");
+        }
+    }
+
     private List<String> getColor() {
         List<String> color = new ArrayList<>();
         color.add("#FDAFAB");
@@ -1,26 +1,36 @@
 package sketcher.scheduling.controller;
 
 import lombok.RequiredArgsConstructor;
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import sketcher.scheduling.algorithm.AutoScheduling;
+import sketcher.scheduling.algorithm.BandResultListener;
+import sketcher.scheduling.algorithm.Deadline;
+import sketcher.scheduling.algorithm.SchedulingContext;
+import sketcher.scheduling.algorithm.SchedulingCoverage;
+import sketcher.scheduling.algorithm.SchedulingSessionStore;
+import sketcher.scheduling.algorithm.SolveResultCache;
+import sketcher.scheduling.algorithm.SolverPool;
 import sketcher.scheduling.algorithm.ResultScheduling;
 import sketcher.scheduling.domain.ManagerHopeTime;
 import sketcher.scheduling.domain.User;
 import sketcher.scheduling.dto.EstimatedNumOfCardsPerHourDto;
 import sketcher.scheduling.dto.ManagerAssignScheduleDto;
+import sketcher.scheduling.exception.SchedulingSessionNotFoundException;
 import sketcher.scheduling.repository.EstimatedNumOfCardsPerHourRepository;
 import sketcher.scheduling.repository.ManagerHopeTimeRepository;
-import sketcher.scheduling.repository.PercentageOfManagerWeightsRepository;
 import sketcher.scheduling.repository.UserRepository;
 import sketcher.scheduling.service.KakaoService;
 import sketcher.scheduling.service.ManagerAssignScheduleService;
 import sketcher.scheduling.service.ManagerHopeTimeService;
+import sketcher.scheduling.service.ManagerWeekHoursService;
 import sketcher.scheduling.service.UserService;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.text.ParseException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -28,14 +38,20 @@
 @org.springframework.web.bind.annotation.RestController
 @RequiredArgsConstructor
 public class RestController {
+    private static final long SCHEDULING_STREAM_TIMEOUT_MILLIS = 5 * 60 * 1000L;
+
     private final UserRepository userRepository;
     private final UserService userService;
     private final ManagerAssignScheduleService assignScheduleService;
+    private final ManagerWeekHoursService managerWeekHoursService;
     private final KakaoService kakaoService;
     private final ManagerHopeTimeService hopeTimeService;
     private final ManagerHopeTimeRepository managerHopeTimeRepository;
     private final EstimatedNumOfCardsPerHourRepository estimatedNumOfCardsPerHourRepository;
-    private final PercentageOfManagerWeightsRepository percentageOfManagerWeightsRepository;
+    private final AutoScheduling autoScheduling;
+    private final SolverPool solverPool;
+    private final SchedulingSessionStore schedulingSessionStore;
+    private final SolveResultCache solveResultCache;
 
     @GetMapping(value = "/find_All_Manager")
     public List<User> findAllManager() {
@@ -46,12 +62,25 @@ public List<ManagerHopeTime> findAllManagerHopeTime() {
         return hopeTimeService.findAll();
     }
 
+    /**
+     * 배정 스케줄 일괄 저장 : 매니저는 한 번의 쿼리로 조회하고, insert 는 한 트랜잭션 안에서 JDBC batch 로 실행
+     * 응답 : {"count": 저장 건수, "elapsedMillis": 저장 시간, "rowsPerSecond": 초당 저장 건수}
+     */
     @RequestMapping(value = "/create_assign_schedule", produces = "application/json;charset=UTF-8", method = RequestMethod.POST)
-    public int createAssignSchedule(@RequestBody List<Map<String, Object>> param) throws ParseException, IOException {
+    public Map<String, Object> createAssignSchedule(@RequestBody List<Map<String, Object>> param) throws ParseException, IOException {
+        long start = System.nanoTime();
+        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.KOREA);
+
+        Set<Integer> codes = new HashSet<>();
+        for (Map<String, Object> stringObjectMap : param) {
+            codes.add((Integer) stringObjectMap.get("usercode"));
+        }
+        Map<Integer, User> usersByCode = userService.findAllByCode(codes);
+
+        List<ManagerAssignScheduleDto> dtos = new ArrayList<>(param.size());
         for (Map<String, Object> stringObjectMap : param) {
             String startDateString = (String) stringObjectMap.get("startTime"); //2022-07-24T22:00:00.000Z
             String endDateString = (String) stringObjectMap.get("endTime"); //2022-07-24T22:00:00.000Z
-            DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.KOREA);
 
             LocalDateTime startDateUTC = LocalDateTime.parse(startDateString, dateTimeFormatter);
             LocalDateTime endDateUTC = LocalDateTime.parse(endDateString, dateTimeFormatter);
@@ -59,21 +88,30 @@ public int createAssignSchedule(@RequestBody List<Map<String, Object>> param) th
             LocalDateTime startDate = startDateUTC.plusHours(9);
             LocalDateTime endDate = endDateUTC.plusHours(9);
 
-            ManagerAssignScheduleDto dto = ManagerAssignScheduleDto.builder()
-                    .user(userService.findByCode((Integer) stringObjectMap.get("usercode")).get())
+            User user = usersByCode.get((Integer) stringObjectMap.get("usercode"));
+            if (user == null) {
+                throw new NoSuchElementException("존재하지 않는 매니저입니다. : " + stringObjectMap.get("usercode"));
+            }
+            dtos.add(ManagerAssignScheduleDto.builder()
+                    .user(user)
                     .scheduleDateTimeStart(startDate)
                     .scheduleDateTimeEnd(endDate)
-                    .build();
-            assignScheduleService.saveManagerAssignSchedule(dto);
+                    .build());
         }
+        int count = assignScheduleService.saveAllManagerAssignSchedule(dtos);
+        long elapsedNanos = System.nanoTime() - start;
 
         sendKakaoMessage();
 
-        return param.size();
+        Map<String, Object> resultJsonObj = new LinkedHashMap<>();
+        resultJsonObj.put("count", count);
+        resultJsonObj.put("elapsedMillis", elapsedNanos / 1_000_000);
+        resultJsonObj.put("rowsPerSecond", elapsedNanos == 0 ? count : Math.round(count * 1e9 / elapsedNanos));
+        return resultJsonObj;
     }
 
     @RequestMapping(value = "/current_status_info", produces = "application/json;charset=UTF-8", method = RequestMethod.POST)
-    public JSONObject currentStatusInfo(@RequestBody List<Map<String, Object>> param) throws ParseException {
+    public Map<String, Object> currentStatusInfo(@RequestBody List<Map<String, Object>> param) throws ParseException {
         String date = "";
         String day = "";
         int usercode[] = new int[param.size() - 1];
@@ -96,36 +134,199 @@ public JSONObject currentStatusInfo(@RequestBody List<Map<String, Object>> param
             }
         }
 
-        AutoScheduling autoScheduling = new AutoScheduling(userService, estimatedNumOfCardsPerHourRepository, percentageOfManagerWeightsRepository);
-        ArrayList<ResultScheduling> schedulings = autoScheduling.runAlgorithm(usercode, userCurrentTime, hopeTimeList);
+        ArrayList<ResultScheduling> schedulings = solverPool.solve(() -> autoScheduling.runAlgorithm(usercode, userCurrentTime, hopeTimeList));
 
-        JSONObject schedulingJsonObj = schedulingResultsToJson(date, day, schedulings);
+        Map<String, Object> schedulingJsonObj = schedulingResultsToJson(date, day, schedulings);
 
-        System.out.println(schedulingJsonObj.toJSONString());
+        System.out.println(schedulingJsonObj);
 
         return schedulingJsonObj;
     }
 
-    private JSONObject schedulingResultsToJson(String date, String day, ArrayList<ResultScheduling> schedulings) {
-        JSONObject schedulingJsonObj = new JSONObject();
+    /**
+     * 일주일(7일 x 24시간) 스케줄을 한 번의 요청으로 배정
+     * {"dates": [월~일 날짜], "days": [월~일 요일], "users": [{"userCode", "userCurrentTime", "hopetime"}], "warmStart": true}
+     * warmStart 가 true 이면 지난주 같은 요일 / 시간 배정 중 지금도 조건을 만족하는 배정은 그대로 두고 나머지만 배정
+     */
+    @RequestMapping(value = "/schedule/week", produces = "application/json;charset=UTF-8", method = RequestMethod.POST)
+    public Map<String, Object> weekScheduling(@RequestBody Map<String, Object> param) {
+        List<String> dates = listOf(param, "dates");
+        List<String> days = listOf(param, "days");
+
+        // deadlineMillis 가 있으면 제한 시간 안에서 가능한 만큼만 배정하고, 남은 배정은 sessionId 로 이어서 진행
+        SchedulingContext context = prepareWeek(param, dates);
+        return solveWeek(context, null, deadlineOf(param), dates, days);
+    }
+
+    /**
+     * /schedule/week 와 같은 요청으로 시간대(오전 -> 오후 -> 저녁 -> 새벽) 배정이 끝날 때마다 결과를 Server-Sent Events 로 보낸다.
+     * event: band     -> {"date", "day", "hopeTime", "scheduleResults": [{"scheduleStartTime", "scheduleStartMinute", "userCode"}]}
+     * event: complete -> {"complete", "sessionId", "warmStartKept", "coverage"} (제한 시간으로 멈춘 경우 sessionId 로 /schedule/week/resume)
+     */
+    @RequestMapping(value = "/schedule/week/stream", produces = "text/event-stream;charset=UTF-8", method = RequestMethod.POST)
+    public SseEmitter weekSchedulingStream(@RequestBody Map<String, Object> param) {
+        List<String> dates = listOf(param, "dates");
+        List<String> days = listOf(param, "days");
+
+        SchedulingContext context = prepareWeek(param, dates);
+        Deadline deadline = deadlineOf(param);
+
+        SseEmitter emitter = new SseEmitter(SCHEDULING_STREAM_TIMEOUT_MILLIS);
+        BandResultListener listener = (day, hopeTime, results) -> {
+            Map<String, Object> bandJsonObj = new LinkedHashMap<>();
+            bandJsonObj.put("date", dates.get(day));
+            bandJsonObj.put("day", days.get(day));
+            bandJsonObj.put("hopeTime", hopeTime.name());
+            bandJsonObj.put("scheduleResults", scheduleResultsToJson(results));
+            sendEvent(emitter, "band", bandJsonObj);
+        };
+        solverPool.submit(() -> {
+            try {
+                boolean complete;
+                if (context.isComplete()) {     // 같은 입력값으로 이미 마친 배정
+                    autoScheduling.replayBands(context, listener);
+                    complete = true;
+                } else {
+                    complete = autoScheduling.solve(context, deadline, listener);
+                }
+                Map<String, Object> completeJsonObj = new LinkedHashMap<>();
+                completeJsonObj.put("complete", complete);
+                completeJsonObj.put("sessionId", complete ? null : schedulingSessionStore.save(context));
+                completeJsonObj.put("warmStartKept", context.getNumOfWarmStartKept());
+                completeJsonObj.put("coverage", coverageToJson(autoScheduling.coverage(context), dates));
+                sendEvent(emitter, "complete", completeJsonObj);
+                emitter.complete();
+            } catch (RuntimeException e) {
+                emitter.completeWithError(e);   // 클라이언트 연결이 끊기면 남은 배정도 멈춤
+            }
+            return null;
+        });
+        return emitter;
+    }
+
+    private SchedulingContext prepareWeek(Map<String, Object> param, List<String> dates) {
+        List<Map<String, Object>> users = listOf(param, "users");
+
+        int usercode[] = new int[users.size()];
+        int userCurrentTime[] = new int[users.size()];
+        List<List<Integer>> hopeTimeList = new ArrayList<>();
+        LocalDateTime weekStart = LocalDate.parse(dates.get(0), DateTimeFormatter.ofPattern("yyyy-M-d")).atStartOfDay();
+        // 그 주에 이미 저장된 배정 시간은 솔버 안에서만 주 배정 한도에 포함 (manager_week_hours 집계에서 한 번에 조회)
+        // 응답의 userCurrentTime 은 화면에서 보낸 값 + 이번에 배정한 시간이므로 다시 보내도 저장된 시간이 중복되지 않는다.
+        Map<Integer, Long> savedHoursByCode = managerWeekHoursService.findHoursByWeek(weekStart);
+        for (int i = 0; i < users.size(); i++) {
+            Map<String, Object> stringObjectMap = users.get(i);
+            usercode[i] = (int) stringObjectMap.get("userCode");
+            userCurrentTime[i] = (int) stringObjectMap.get("userCurrentTime");
+            settingHopeTimeList(hopeTimeList, stringObjectMap.get("hopetime").toString());
+        }
+
+        Map<Integer, List<Integer>> previousWeekBySlot = Collections.emptyMap();
+        if (Boolean.TRUE.equals(param.get("warmStart"))) {
+            previousWeekBySlot = assignScheduleService.findAssignCodesBySlot(weekStart.minusDays(7), dates.size());
+        }
+        return autoScheduling.prepareWeek(usercode, userCurrentTime, hopeTimeList, dates.size(), previousWeekBySlot, savedHoursByCode);
+    }
+
+    private void sendEvent(SseEmitter emitter, String name, Map<String, Object> data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @RequestMapping(value = "/schedule/week/resume", produces = "application/json;charset=UTF-8", method = RequestMethod.POST)
+    public Map<String, Object> resumeWeekScheduling(@RequestBody Map<String, Object> param) {
+        String sessionId = (String) param.get("sessionId");
+        List<String> dates = listOf(param, "dates");
+        List<String> days = listOf(param, "days");
+
+        SchedulingContext context = schedulingSessionStore.find(sessionId)
+                .orElseThrow(() -> new SchedulingSessionNotFoundException(sessionId));
+        return solveWeek(context, sessionId, deadlineOf(param), dates, days);
+    }
 
-        JSONArray selectedDate = new JSONArray();
-        JSONArray scheduleJsonList = new JSONArray();
-        JSONArray userJsonList = new JSONArray();
+    private Map<String, Object> solveWeek(SchedulingContext context, String sessionId, Deadline deadline, List<String> dates, List<String> days) {
+        boolean complete = solverPool.solve(() -> autoScheduling.solve(context, deadline));
+        if (complete && sessionId != null) {
+            schedulingSessionStore.remove(sessionId);
+            sessionId = null;
+        } else if (!complete && sessionId == null) {
+            sessionId = schedulingSessionStore.save(context);
+        }
+
+        List<ArrayList<ResultScheduling>> weekSchedulings = autoScheduling.results(context);
+        List<Map<String, Object>> weekJsonList = new ArrayList<>();
+        for (int day = 0; day < weekSchedulings.size(); day++) {
+            weekJsonList.add(schedulingResultsToJson(dates.get(day), days.get(day), weekSchedulings.get(day)));
+        }
+
+        Map<String, Object> weekJsonObj = new LinkedHashMap<>();
+        weekJsonObj.put("week", weekJsonList);
+        weekJsonObj.put("complete", complete);
+        weekJsonObj.put("sessionId", sessionId);
+        weekJsonObj.put("warmStartKept", context.getNumOfWarmStartKept());
+        weekJsonObj.put("coverage", coverageToJson(autoScheduling.coverage(context), dates));
+        return weekJsonObj;
+    }
+
+    private Deadline deadlineOf(Map<String, Object> param) {
+        Object deadlineMillis = param.get("deadlineMillis");
+        return deadlineMillis == null ? Deadline.NONE : Deadline.afterMillis(((Number) deadlineMillis).longValue());
+    }
+
+    /**
+     * 요청 본문의 JSON 배열 값 : Jackson 이 배열을 List 로 읽으므로 원소 타입만 맞춰서 꺼낸다.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> listOf(Map<String, Object> param, String key) {
+        return (List<T>) param.get(key);
+    }
+
+    private Map<String, Object> coverageToJson(SchedulingCoverage coverage, List<String> dates) {
+        List<Map<String, Object>> dayJsonList = new ArrayList<>();
+        for (int day = 0; day < coverage.getNumOfDays(); day++) {
+            List<Map<String, Object>> unfilledJsonList = new ArrayList<>();
+            for (int slot = 0; slot < coverage.getRequired()[day].length; slot++) {
+                if (coverage.unfilled(day, slot) == 0) continue;
+                Map<String, Object> unfilledItem = new LinkedHashMap<>();
+                unfilledItem.put("time", slot / coverage.getSlotsPerHour());
+                unfilledItem.put("minute", slot % coverage.getSlotsPerHour() * 60 / coverage.getSlotsPerHour());
+                unfilledItem.put("required", coverage.getRequired()[day][slot]);
+                unfilledItem.put("unfilled", coverage.unfilled(day, slot));
+                unfilledJsonList.add(unfilledItem);
+            }
+            Map<String, Object> dayItem = new LinkedHashMap<>();
+            dayItem.put("date", dates.get(day));
+            dayItem.put("unfilledSlots", unfilledJsonList);
+            dayJsonList.add(dayItem);
+        }
+
+        Map<String, Object> coverageJsonObj = new LinkedHashMap<>();
+        coverageJsonObj.put("required", coverage.totalRequired());
+        coverageJsonObj.put("filled", coverage.totalFilled());
+        coverageJsonObj.put("days", dayJsonList);
+        return coverageJsonObj;
+    }
+
+    private Map<String, Object> schedulingResultsToJson(String date, String day, ArrayList<ResultScheduling> schedulings) {
+        Map<String, Object> schedulingJsonObj = new LinkedHashMap<>();
+
+        List<Map<String, Object>> selectedDate = new ArrayList<>();
+        List<Map<String, Object>> scheduleJsonList = new ArrayList<>();
+        List<Map<String, Object>> userJsonList = new ArrayList<>();
 
         HashMap<Integer, Integer> userList = new HashMap<>();
 
-        JSONObject dateInfo = new JSONObject();
+        Map<String, Object> dateInfo = new LinkedHashMap<>();
         dateInfo.put("date", date);
         dateInfo.put("day", day);
         selectedDate.add(dateInfo);
         schedulingJsonObj.put("date", selectedDate);
 
         for (ResultScheduling scheduling : schedulings) {
-            JSONObject scheduleItem = new JSONObject();
-            scheduleItem.put("scheduleStartTime", scheduling.startTime);
-            scheduleItem.put("userCode", scheduling.userCode);
-            scheduleJsonList.add(scheduleItem);
+            scheduleJsonList.add(scheduleResultToJson(scheduling));
 //            System.out.println(scheduling.startTime+" / "+scheduling.userCode+"번 매니저 / 현재 배정시간 : "+scheduling.currentTime);
             if (!userList.containsKey(scheduling.userCode)) {
                 userList.put(scheduling.userCode, scheduling.currentTime);
@@ -135,7 +336,7 @@ private JSONObject schedulingResultsToJson(String date, String day, ArrayList<Re
         schedulingJsonObj.put("scheduleResults", scheduleJsonList);
 
         for (Map.Entry<Integer, Integer> userStatus : userList.entrySet()) {
-            JSONObject scheduleItem = new JSONObject();
+            Map<String, Object> scheduleItem = new LinkedHashMap<>();
             scheduleItem.put("userCode", userStatus.getKey());
             scheduleItem.put("userCurrentTime", userStatus.getValue());
             userJsonList.add(scheduleItem);
@@ -145,6 +346,22 @@ private JSONObject schedulingResultsToJson(String date, String day, ArrayList<Re
         return schedulingJsonObj;
     }
 
+    private List<Map<String, Object>> scheduleResultsToJson(List<ResultScheduling> schedulings) {
+        List<Map<String, Object>> scheduleJsonList = new ArrayList<>();
+        for (ResultScheduling scheduling : schedulings) {
+            scheduleJsonList.add(scheduleResultToJson(scheduling));
+        }
+        return scheduleJsonList;
+    }
+
+    private Map<String, Object> scheduleResultToJson(ResultScheduling scheduling) {
+        Map<String, Object> scheduleItem = new LinkedHashMap<>();
+        scheduleItem.put("scheduleStartTime", scheduling.startTime);
+        scheduleItem.put("scheduleStartMinute", scheduling.startMinute);
+        scheduleItem.put("userCode", scheduling.userCode);
+        return scheduleItem;
+    }
+
     private void settingHopeTimeList(List<List<Integer>> hopeTimeList, String hopetimeStr) {
         String[] split = hopetimeStr.replace("[", "").replace("]", "").split(", ");
         List<Integer> hopetimes = new ArrayList<>();
@@ -181,6 +398,7 @@ public int updateEstCards(@RequestBody List<Map<String, Object>> param) throws P
 
             estimatedNumOfCardsPerHourRepository.save(dto.toEntity());
         }
+        solveResultCache.invalidateAll();
         return param.size();
     }
 }
\ No newline at end of file
@@ -14,6 +14,7 @@
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import sketcher.scheduling.domain.ManagerAssignSchedule;
 import sketcher.scheduling.domain.User;
+import sketcher.scheduling.dto.ManagerWorkHoursDto;
 import sketcher.scheduling.dto.UserDto;
 import sketcher.scheduling.dto.UserSearchCondition;
 import sketcher.scheduling.object.HopeTime;
@@ -244,17 +245,13 @@ public String manager_mypage(Model model) {
         User user = userService.findById(id).get();
         ArrayList<String> hope = userService.findHopeTimeById(id);
 
-        HashMap<Integer, Long> monthWork = managerAssignScheduleService.monthAssignWorkByUserId(id);
-        long weekWork = managerAssignScheduleService.weekWorkByUserId(id);
-//        long weekAssign = managerAssignScheduleService.weekAssignByUserId(id);
-        long weekRemain = managerAssignScheduleService.weekRemainByUserId(id);
+        ManagerWorkHoursDto workHours = managerAssignScheduleService.workHoursByUserId(id);
 
         model.addAttribute("user", user);
         model.addAttribute("hope", hope);
-        model.addAttribute("monthWork", monthWork);
-        model.addAttribute("weekWork", weekWork);
-//        model.addAttribute("weekAssign", weekAssign);
-        model.addAttribute("weekRemain", weekRemain);
+        model.addAttribute("monthWork", workHours.getMonthWork());
+        model.addAttribute("weekWork", workHours.getWeekWork());
+        model.addAttribute("weekRemain", workHours.getWeekRemain());
 
         return "mypage/manager_mypage";
     }
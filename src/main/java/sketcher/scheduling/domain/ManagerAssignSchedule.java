@@ -10,7 +10,11 @@
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "manager_assign_schedule")
+@Table(name = "manager_assign_schedule",
+        indexes = {
+                @Index(name = "idx_assign_schedule_start", columnList = "schedule_date_time_start, user_code, schedule_date_time_end"),
+                @Index(name = "idx_assign_schedule_end", columnList = "schedule_date_time_end, schedule_date_time_start, user_code")
+        })
 @Getter
 public class ManagerAssignSchedule {
 
@@ -67,6 +71,14 @@ public void update(LocalDateTime scheduleDateTimeStart, LocalDateTime scheduleDa
         this.scheduleDateTimeEnd = scheduleDateTimeEnd;
     }
 
+    public void updateUser(User user) {
+        if (this.user != null) {
+            this.user.getManagerAssignScheduleList().remove(this);
+        }
+        this.user = user;
+        user.getManagerAssignScheduleList().add(this);
+    }
+
     public void addUpdateReq(ScheduleUpdateReq updatReq){
         this.updateReq = updatReq;
         updateReq.setAssignSchedule(this);
@@ -0,0 +1,50 @@
+package sketcher.scheduling.domain;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 매니저별 주(ISO, 월요일 시작) 배정 시간 집계
+ * 배정 스케줄을 저장 / 수정 / 삭제할 때 같은 트랜잭션에서 ManagerWeekHoursRepository 로 더하고 뺀다.
+ * (user_code 는 탈퇴 후 배정 스케줄이 NULL 로 바뀌어도 집계를 지울 수 있도록 연관관계 없이 값으로만 둔다)
+ */
+@Entity
+@Table(name = "manager_week_hours",
+        uniqueConstraints = @UniqueConstraint(name = "uk_manager_week_hours", columnNames = {"user_code", "week_start"}))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ManagerWeekHours {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "week_hours_id")
+    private Long id;
+
+    @Column(name = "user_code", nullable = false)
+    private Integer userCode;
+
+    /* ISO 주의 월요일 */
+    @Column(name = "week_start", nullable = false)
+    private LocalDate weekStart;
+
+    @Column(name = "hours", nullable = false)
+    private Long hours;
+
+    /**
+     * 배정은 시작 시각이 속한 주에 모두 더한다.
+     */
+    public static LocalDate weekStartOf(LocalDateTime scheduleDateTimeStart) {
+        return scheduleDateTimeStart.toLocalDate().with(DayOfWeek.MONDAY);
+    }
+
+    public static long hoursOf(LocalDateTime scheduleDateTimeStart, LocalDateTime scheduleDateTimeEnd) {
+        return ChronoUnit.HOURS.between(scheduleDateTimeStart, scheduleDateTimeEnd);
+    }
+}
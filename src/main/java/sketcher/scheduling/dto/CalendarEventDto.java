@@ -0,0 +1,19 @@
+package sketcher.scheduling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * FullCalendar 이벤트 한 건 (배정 스케줄 엔티티 대신 필요한 값만 조회)
+ */
+@Getter
+@AllArgsConstructor
+public class CalendarEventDto {
+
+    private String title;
+    private Integer userCode;
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
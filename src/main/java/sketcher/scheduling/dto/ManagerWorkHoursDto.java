@@ -0,0 +1,19 @@
+package sketcher.scheduling.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.HashMap;
+
+/**
+ * 매니저 마이페이지 근무 시간 집계 (이번 주 근무 / 잔업, 지난 1~3주 배정 시간)
+ */
+@Getter
+@RequiredArgsConstructor
+public class ManagerWorkHoursDto {
+
+    private final long weekWork;
+    private final long weekRemain;
+    /* 몇 주 전(1~3) -> 배정 시간 */
+    private final HashMap<Integer, Long> monthWork = new HashMap<>();
+}
@@ -0,0 +1,11 @@
+package sketcher.scheduling.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCalendarRangeException extends RuntimeException{
+    public InvalidCalendarRangeException(String message){
+        super(message);
+    }
+}
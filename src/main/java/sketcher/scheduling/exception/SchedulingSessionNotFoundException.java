@@ -0,0 +1,11 @@
+package sketcher.scheduling.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class SchedulingSessionNotFoundException extends RuntimeException{
+    public SchedulingSessionNotFoundException(String sessionId){
+        super(sessionId+"에 해당하는 스케줄 배정 세션이 없거나 만료되었습니다.");
+    }
+}
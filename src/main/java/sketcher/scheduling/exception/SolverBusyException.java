@@ -0,0 +1,11 @@
+package sketcher.scheduling.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class SolverBusyException extends RuntimeException{
+    public SolverBusyException(){
+        super("스케줄 자동 배정 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+    }
+}
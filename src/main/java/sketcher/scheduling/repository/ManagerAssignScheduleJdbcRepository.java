@@ -0,0 +1,33 @@
+package sketcher.scheduling.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import sketcher.scheduling.dto.ManagerAssignScheduleDto;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * 배정 스케줄 대량 저장 (JDBC batch insert)
+ * 엔티티 id 가 IDENTITY 라 Hibernate 는 insert 를 batch 로 묶지 못하므로 JdbcTemplate 으로 직접 넣는다.
+ * JPA 트랜잭션 안에서 호출하면 같은 커넥션을 사용한다. (MySQL 은 url 에 rewriteBatchedStatements=true 필요)
+ */
+@Repository
+@RequiredArgsConstructor
+public class ManagerAssignScheduleJdbcRepository {
+
+    static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int batchInsert(List<ManagerAssignScheduleDto> dtos) {
+        jdbcTemplate.batchUpdate("insert into manager_assign_schedule (user_code, schedule_date_time_start, schedule_date_time_end) values (?, ?, ?)",
+                dtos, BATCH_SIZE, (ps, dto) -> {
+                    ps.setInt(1, dto.getUser().getCode());
+                    ps.setTimestamp(2, Timestamp.valueOf(dto.getScheduleDateTimeStart()));
+                    ps.setTimestamp(3, Timestamp.valueOf(dto.getScheduleDateTimeEnd()));
+                });
+        return dtos.size();
+    }
+}
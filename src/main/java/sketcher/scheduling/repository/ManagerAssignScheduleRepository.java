@@ -3,17 +3,21 @@
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import sketcher.scheduling.domain.ManagerAssignSchedule;
 import sketcher.scheduling.domain.User;
+import sketcher.scheduling.dto.CalendarEventDto;
 import sketcher.scheduling.dto.UserDto;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.PersistenceContext;
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ManagerAssignScheduleRepository extends JpaRepository<ManagerAssignSchedule, Integer> {
 
@@ -32,6 +36,27 @@ Optional<ManagerAssignSchedule> getBeforeSchedule(@Param("user")User user,
     Integer deleteByUser(User user);
     void deleteById(Integer Id);
 
+    @Query("select s from ManagerAssignSchedule s where s.user.code = :code and s.scheduleDateTimeStart >= :from")
+    List<ManagerAssignSchedule> findAfterByUserCode(@Param("code") Integer code, @Param("from") LocalDateTime from);
+
+    @Query("select s from ManagerAssignSchedule s join fetch s.user " +
+            "where s.scheduleDateTimeStart < :end and s.scheduleDateTimeEnd > :start")
+    List<ManagerAssignSchedule> findBetweenWithUser(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * [start, end) 와 겹치는 배정을 캘린더 이벤트로 한 건씩 읽는다. (호출하는 쪽 트랜잭션 안에서 닫아야 함)
+     * 배정 길이와 상관없이 겹침 조건만 쓰고, 종료 시각 인덱스(idx_assign_schedule_end)로 start 이후에 끝나는 배정만 읽는다.
+     * code 가 null 이면 모든 매니저
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new sketcher.scheduling.dto.CalendarEventDto(u.username, u.code, s.scheduleDateTimeStart, s.scheduleDateTimeEnd) " +
+            "from ManagerAssignSchedule s join s.user u " +
+            "where s.scheduleDateTimeStart < :end and s.scheduleDateTimeEnd > :start " +
+            "and (:code is null or u.code = :code)")
+    Stream<CalendarEventDto> streamCalendarEvents(@Param("start") LocalDateTime start,
+                                                  @Param("end") LocalDateTime end,
+                                                  @Param("code") Integer code);
+
     @Modifying
     @Query("update ManagerAssignSchedule a set a.user=null where a.user=:user")
     int bulkUserSetNull(@Param("user") User user);
@@ -1,20 +1,14 @@
 package sketcher.scheduling.repository;
 
 import sketcher.scheduling.domain.ManagerAssignSchedule;
+import sketcher.scheduling.dto.ManagerWorkHoursDto;
 
-import java.util.HashMap;
 import java.util.List;
 
 public interface ManagerAssignScheduleRepositoryCustom {
     List<ManagerAssignSchedule> findByUserId(String id);
 
-    HashMap<Integer, Long> monthAssignWorkByUserId(String id);
-
-    long weekAssignByUserId(String id);
-
-    long weekWorkByUserId(String id);
-
-    long weekRemainByUserId(String id);
+    ManagerWorkHoursDto workHoursByUserId(String id);
 
     long countByTodayAssignManager();
 }
@@ -1,18 +1,20 @@
 package sketcher.scheduling.repository;
 
-import com.querydsl.core.Tuple;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import sketcher.scheduling.config.LocalDateTimeConfig;
 import sketcher.scheduling.domain.ManagerAssignSchedule;
+import sketcher.scheduling.dto.ManagerWorkHoursDto;
 
+import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.springframework.util.StringUtils.hasText;
 import static sketcher.scheduling.domain.QManagerAssignSchedule.managerAssignSchedule;
@@ -25,6 +27,7 @@ public class ManagerAssignScheduleRepositoryCustomImpl implements ManagerAssignS
 
     private final UserRepository userRepository;
     private final JPAQueryFactory queryFactory;
+    private final JdbcTemplate jdbcTemplate;
 
     final int DAYOFMONTH = 21;
 
@@ -42,82 +45,35 @@ public List<ManagerAssignSchedule> findByUserId(String id) {
                 .fetch();
     }
 
+    /**
+     * 이번 주 배정을 지금 기준으로 근무 / 잔업으로 나눠 한 번의 집계 쿼리로 합산 (user_id 로 바로 조인해서 사용자 조회도 생략)
+     * 각 구간은 시작 / 종료 시각이 모두 구간 안에 있는 배정만 센다. (기존 between 조건과 동일)
+     * 지난 주들은 manager_week_hours 집계에서 읽으므로 여기서는 monthWork 를 채우지 않는다.
+     */
     @Override
-    public long weekAssignByUserId(String id) {
-        Integer code = getUserCode(id);
+    public ManagerWorkHoursDto workHoursByUserId(String id) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime weekStart = ldt.getWeekStart(ldt.getLocalTimeNooN());
+        LocalDateTime weekEnd = weekStart.plusDays(7);
 
-        List<Tuple> assignSchedule = queryFactory
-                .select(managerAssignSchedule.scheduleDateTimeStart,
-                        managerAssignSchedule.scheduleDateTimeEnd)
-                .from(managerAssignSchedule)
-                .where(userCodeEq(code),
-                        week_assign())
-                .fetch();
+        String sql = "select " + sumHoursBetween() + " as week_work, " + sumHoursBetween() + " as week_remain" +
+                " from manager_assign_schedule s" +
+                " join user u on u.user_code = s.user_code" +
+                " where u.user_id = ? and s.schedule_date_time_start between ? and ?";
+        Object[] args = Stream.of(weekStart, now, weekStart, now, now, weekEnd, now, weekEnd, id, weekStart, weekEnd)
+                .map(arg -> arg instanceof LocalDateTime ? Timestamp.valueOf((LocalDateTime) arg) : arg)
+                .toArray();
 
-        return schedule_hours(assignSchedule);
+        return jdbcTemplate.queryForObject(sql, (rs, rowNum) ->
+                new ManagerWorkHoursDto(rs.getLong("week_work"), rs.getLong("week_remain")), args);
     }
 
-    @Override
-    public long weekWorkByUserId(String id) {
-        Integer code = getUserCode(id);
-
-        List<Tuple> assignSchedule = queryFactory
-                .select(managerAssignSchedule.scheduleDateTimeStart,
-                        managerAssignSchedule.scheduleDateTimeEnd)
-                .from(managerAssignSchedule)
-                .where(userCodeEq(code),
-                        week_work())
-                .fetch();
-
-        return schedule_hours(assignSchedule);
-    }
-
-    @Override
-    public long weekRemainByUserId(String id) {
-        Integer code = getUserCode(id);
-
-        List<Tuple> assignSchedule = queryFactory
-                .select(managerAssignSchedule.scheduleDateTimeStart,
-                        managerAssignSchedule.scheduleDateTimeEnd)
-                .from(managerAssignSchedule)
-                .where(userCodeEq(code),
-                        week_remain())
-                .fetch();
-
-        return schedule_hours(assignSchedule);
-    }
-
-    @Override
-    public HashMap<Integer, Long> monthAssignWorkByUserId(String id) {
-        Integer code = getUserCode(id);
-
-/*
-        List<Tuple> assignSchedule = queryFactory
-                .select(managerAssignSchedule.scheduleDateTimeStart,
-                        managerAssignSchedule.scheduleDateTimeEnd)
-                .from(managerAssignSchedule)
-                .where(userCodeEq(code),
-                        month_assign())
-                .orderBy(OrderByNull.DEFAULT) // 인덱스가 없는 group by 쿼리는 filesort 때문에 성능 느림 -> order by null
-                .groupBy(managerAssignSchedule.scheduleDateTimeStart)
-                .having()
-                .fetch();
-*/
-
-        HashMap<Integer, Long> monthAssignWork = new HashMap<>();
-
-        for (int i = 1; i <= 3; i++) {
-            List<Tuple> assignSchedule = queryFactory
-                    .select(managerAssignSchedule.scheduleDateTimeStart,
-                            managerAssignSchedule.scheduleDateTimeEnd)
-                    .from(managerAssignSchedule)
-                    .where(userCodeEq(code),
-                            month_assign(i))
-                    .fetch();
-            monthAssignWork.put(i, schedule_hours(assignSchedule));
-        }
-
-        return monthAssignWork;
+    /**
+     * 시작 / 종료 시각이 모두 [?, ?] 안에 있는 배정의 시간 합 (파라미터 4개)
+     */
+    private String sumHoursBetween() {
+        return "coalesce(sum(case when s.schedule_date_time_start between ? and ? and s.schedule_date_time_end between ? and ?" +
+                " then timestampdiff(HOUR, s.schedule_date_time_start, s.schedule_date_time_end) else 0 end), 0)";
     }
 
     @Override
@@ -148,26 +104,6 @@ public BooleanExpression week_assign() {
         //2022-03-11 00:00:00 이상, 2022-03-12 00:00:00 미만
     }
 
-    public BooleanExpression week_work() {
-        LocalDateTime dateTime = LocalDateTime.now(); // 오늘 날짜 가져옴
-        LocalDateTime date = ldt.getLocalTimeNooN();
-
-        LocalDateTime weekStart = ldt.getWeekStart(date);
-
-        return managerAssignSchedule.scheduleDateTimeStart.between(weekStart, dateTime)
-                .and(managerAssignSchedule.scheduleDateTimeEnd.between(weekStart, dateTime));
-    }
-
-    public BooleanExpression week_remain() {
-        LocalDateTime dateTime = LocalDateTime.now(); // 오늘 날짜 가져옴
-        LocalDateTime date = ldt.getLocalTimeNooN();
-
-        LocalDateTime weekEnd = ldt.getWeekEnd(date);
-
-        return managerAssignSchedule.scheduleDateTimeStart.between(dateTime, weekEnd)
-                .and(managerAssignSchedule.scheduleDateTimeEnd.between(dateTime, weekEnd));
-    }
-
 /*
     public BooleanExpression month_assign() {
 //        LocalDateTime dateTime = LocalDateTime.now(); // 오늘 날짜 가져옴
@@ -186,16 +122,6 @@ public BooleanExpression month_assign() {
     }
 */
 
-    public BooleanExpression month_assign(int weekAgo) {
-        LocalDateTime date = ldt.getLocalTimeNooN();
-        int dayOfWeekNumber = ldt.getDayOfWeekNumber(date);
-        LocalDateTime start = date.minusDays(dayOfWeekNumber + 7 * weekAgo);
-        LocalDateTime end = date.minusDays(dayOfWeekNumber + 7 * (weekAgo - 1));
-
-        return managerAssignSchedule.scheduleDateTimeStart.between(start, end)
-                .and(managerAssignSchedule.scheduleDateTimeEnd.between(start, end));
-    }
-
     public BooleanExpression today_assign() {
         LocalDateTime date = ldt.getLocalTimeNooN();
         LocalDateTime end = ldt.getLocalTimeMAX();
@@ -208,20 +134,6 @@ public Integer getUserCode(String id) {
         return userRepository.findById(id).get().getCode();
     }
 
-    public long schedule_hours(List<Tuple> assignSchedule) {
-        long sum = 0;
-        Duration duration;
-
-        for (Tuple tuple : assignSchedule) {
-            LocalDateTime from = tuple.get(managerAssignSchedule.scheduleDateTimeStart);
-            LocalDateTime to = tuple.get(managerAssignSchedule.scheduleDateTimeEnd);
-            duration = Duration.between(from, to);
-            sum += duration.toHours();
-        }
-
-        return sum;
-    }
-
     public long schedule_hours2(LocalDateTime from, LocalDateTime to) {
         long sum = 0;
         Duration duration;
@@ -0,0 +1,116 @@
+package sketcher.scheduling.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import sketcher.scheduling.domain.ManagerWeekHours;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * manager_week_hours 집계 테이블 (JDBC)
+ * hours = hours + ? 로 더하므로 같은 매니저 / 주를 동시에 바꿔도 값을 잃지 않는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ManagerWeekHoursRepository {
+
+    static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void addHours(Integer userCode, LocalDate weekStart, long hours) {
+        if (increase(userCode, weekStart, hours) > 0) return;
+        try {
+            jdbcTemplate.update("insert into manager_week_hours (user_code, week_start, hours) values (?, ?, ?)",
+                    userCode, Date.valueOf(weekStart), hours);
+        } catch (DuplicateKeyException e) {     // 다른 트랜잭션이 먼저 행을 만든 경우
+            increase(userCode, weekStart, hours);
+        }
+    }
+
+    private int increase(Integer userCode, LocalDate weekStart, long hours) {
+        return jdbcTemplate.update("update manager_week_hours set hours = hours + ? where user_code = ? and week_start = ?",
+                hours, userCode, Date.valueOf(weekStart));
+    }
+
+    public long findHours(Integer userCode, LocalDate weekStart) {
+        List<Long> hours = jdbcTemplate.queryForList("select hours from manager_week_hours where user_code = ? and week_start = ?",
+                Long.class, userCode, Date.valueOf(weekStart));
+        return hours.isEmpty() ? 0 : hours.get(0);
+    }
+
+    /**
+     * @return 매니저 코드 -> 그 주 배정 시간 (배정이 없는 매니저는 빠짐)
+     */
+    public Map<Integer, Long> findHoursByWeek(LocalDate weekStart) {
+        Map<Integer, Long> hoursByCode = new HashMap<>();
+        jdbcTemplate.query("select user_code, hours from manager_week_hours where week_start = ?",
+                rs -> {
+                    hoursByCode.put(rs.getInt("user_code"), rs.getLong("hours"));
+                }, Date.valueOf(weekStart));
+        return hoursByCode;
+    }
+
+    /**
+     * @return 매니저 코드 -> 모든 주의 배정 시간 합 (배정이 없는 매니저는 빠짐)
+     */
+    public Map<Integer, Long> findTotalHours() {
+        Map<Integer, Long> hoursByCode = new HashMap<>();
+        jdbcTemplate.query("select user_code, sum(hours) as hours from manager_week_hours group by user_code",
+                rs -> {
+                    hoursByCode.put(rs.getInt("user_code"), rs.getLong("hours"));
+                });
+        return hoursByCode;
+    }
+
+    /**
+     * @return 주의 월요일 -> 배정 시간 (from <= week_start < to, 배정이 없는 주는 빠짐)
+     */
+    public Map<LocalDate, Long> findHoursByUserCode(Integer userCode, LocalDate from, LocalDate to) {
+        Map<LocalDate, Long> hoursByWeek = new HashMap<>();
+        jdbcTemplate.query("select week_start, hours from manager_week_hours where user_code = ? and week_start >= ? and week_start < ?",
+                rs -> {
+                    hoursByWeek.put(rs.getDate("week_start").toLocalDate(), rs.getLong("hours"));
+                }, userCode, Date.valueOf(from), Date.valueOf(to));
+        return hoursByWeek;
+    }
+
+    public int deleteByUserCode(Integer userCode) {
+        return jdbcTemplate.update("delete from manager_week_hours where user_code = ?", userCode);
+    }
+
+    /**
+     * 집계를 모두 지우고 배정 스케줄에서 다시 만든다. (배정 스케줄은 한 행씩 읽으며 메모리에는 매니저 x 주 합계만 둔다)
+     *
+     * @return 만든 집계 행 수
+     */
+    public int rebuild() {
+        Map<Integer, Map<LocalDate, Long>> hoursByCodeAndWeek = new HashMap<>();
+        jdbcTemplate.query("select user_code, schedule_date_time_start, schedule_date_time_end from manager_assign_schedule" +
+                        " where user_code is not null and schedule_date_time_start is not null and schedule_date_time_end is not null",
+                rs -> {
+                    LocalDateTime start = rs.getTimestamp("schedule_date_time_start").toLocalDateTime();
+                    LocalDateTime end = rs.getTimestamp("schedule_date_time_end").toLocalDateTime();
+                    hoursByCodeAndWeek.computeIfAbsent(rs.getInt("user_code"), key -> new HashMap<>())
+                            .merge(ManagerWeekHours.weekStartOf(start), ManagerWeekHours.hoursOf(start, end), Long::sum);
+                });
+
+        jdbcTemplate.update("delete from manager_week_hours");
+        List<Object[]> rows = new ArrayList<>();
+        hoursByCodeAndWeek.forEach((code, hoursByWeek) -> hoursByWeek.forEach((weekStart, hours) ->
+                rows.add(new Object[]{code, Date.valueOf(weekStart), hours})));
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate("insert into manager_week_hours (user_code, week_start, hours) values (?, ?, ?)",
+                    rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE)));
+        }
+        return rows.size();
+    }
+}
@@ -18,6 +18,8 @@ public interface UserRepositoryCustom {
 
     Page<UserDto> findLeaveManager(UserSearchCondition condition, Pageable pageable);
 	List<Tuple> findJoinDateByHopeTime(Integer startTime);
+
+    List<Tuple> findManagerRoster();
     //    ArrayList<String> findDetailById(String id);
     List<User> withdrawalManagers(UserSearchCondition condition);
 
@@ -227,6 +227,17 @@ public List<Tuple> findJoinDateByHopeTime(Integer startTime) {
         return content;
     }
 
+    @Override
+    public List<Tuple> findManagerRoster() {
+        return queryFactory
+                .select(user.code, user.user_joinDate, managerHopeTime.start_time)
+                .from(user)
+                .join(user.managerHopeTimeList, managerHopeTime)
+                .where(authRoleEq("MANAGER"))
+                .orderBy(user.user_joinDate.asc(), user.code.asc())
+                .fetch();
+    }
+
     private Pageable pageableSetting(UserSearchCondition condition, Pageable pageable) {
         String align = condition.getAlign();
         Sort sort = Sort.by(align).ascending();
@@ -5,27 +5,34 @@
 import org.springframework.transaction.annotation.Transactional;
 import sketcher.scheduling.domain.ManagerAssignSchedule;
 import sketcher.scheduling.domain.User;
+import sketcher.scheduling.dto.CalendarEventDto;
 import sketcher.scheduling.dto.ManagerAssignScheduleDto;
+import sketcher.scheduling.dto.ManagerWorkHoursDto;
 import sketcher.scheduling.repository.*;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.List;
-import java.util.NoSuchElementException;
-import java.util.Optional;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ManagerAssignScheduleService {
 
+    /* 마이페이지에 보여주는 지난 주 수 */
+    static final int MONTH_WEEKS = 3;
+
     private final ManagerAssignScheduleRepository managerAssignScheduleRepository;
     private final ManagerAssignScheduleRepositoryCustomImpl scheduleRepositoryCustom;
     private final ScheduleUpdateReqRepository updateReqRepository;
     private final UserRepository userRepository;
     private final ScheduleRepository scheduleRepository;
+    private final ManagerAssignScheduleJdbcRepository managerAssignScheduleJdbcRepository;
+    private final ManagerWeekHoursService managerWeekHoursService;
 
     @PersistenceContext
     private EntityManager em;
@@ -41,6 +48,37 @@ public List<ManagerAssignSchedule> AssignScheduleFindAll() {
                 .getResultList();
     }
 
+    /**
+     * start 부터 numOfDays 일간의 배정을 슬롯(요일 * 24 + 시간)별 매니저 코드로 묶는다.
+     */
+    public Map<Integer, List<Integer>> findAssignCodesBySlot(LocalDateTime start, int numOfDays) {
+        Map<Integer, List<Integer>> codesBySlot = new HashMap<>();
+        LocalDateTime end = start.plusDays(numOfDays);
+        for (ManagerAssignSchedule schedule : managerAssignScheduleRepository.findBetweenWithUser(start, end)) {
+            if (schedule.getUser() == null) continue;
+            Integer code = schedule.getUser().getCode();
+            LocalDateTime time = schedule.getScheduleDateTimeStart().truncatedTo(ChronoUnit.HOURS);
+            for (; time.isBefore(schedule.getScheduleDateTimeEnd()); time = time.plusHours(1)) {
+                long slot = ChronoUnit.HOURS.between(start, time);
+                if (slot < 0 || numOfDays * 24 <= slot) continue;
+                List<Integer> codes = codesBySlot.computeIfAbsent((int) slot, key -> new ArrayList<>());
+                if (!codes.contains(code)) codes.add(code);
+            }
+        }
+        return codesBySlot;
+    }
+
+    /**
+     * [start, end) 와 겹치는 배정을 캘린더 이벤트로 한 건씩 consumer 에 넘긴다. (목록을 메모리에 모으지 않음)
+     *
+     * @param userCode null 이면 모든 매니저
+     */
+    public void forEachCalendarEvent(LocalDateTime start, LocalDateTime end, Integer userCode, Consumer<CalendarEventDto> consumer) {
+        try (Stream<CalendarEventDto> events = managerAssignScheduleRepository.streamCalendarEvents(start, end, userCode)) {
+            events.forEach(consumer);
+        }
+    }
+
     public Optional<ManagerAssignSchedule> findById(Integer id) {
         return managerAssignScheduleRepository.findById(id);
     }
@@ -49,7 +87,21 @@ public Optional<ManagerAssignSchedule> findById(Integer id) {
     @Transactional(rollbackFor = {NoSuchElementException.class})
     public Integer saveManagerAssignSchedule(ManagerAssignScheduleDto managerAssignScheduleDto) throws NoSuchElementException {
         managerAssignScheduleDto.setUpdateReq(null);
-        return managerAssignScheduleRepository.save(managerAssignScheduleDto.toEntity()).getId();
+        ManagerAssignSchedule saved = managerAssignScheduleRepository.save(managerAssignScheduleDto.toEntity());
+        managerWeekHoursService.add(saved.getUser(), saved.getScheduleDateTimeStart(), saved.getScheduleDateTimeEnd());
+        return saved.getId();
+    }
+
+    /**
+     * 배정 스케줄 여러 건을 한 트랜잭션에서 JDBC batch 로 저장
+     *
+     * @return 저장한 건수
+     */
+    @Transactional
+    public int saveAllManagerAssignSchedule(List<ManagerAssignScheduleDto> dtos) {
+        int count = managerAssignScheduleJdbcRepository.batchInsert(dtos);
+        managerWeekHoursService.addAll(dtos);
+        return count;
     }
 
     public List<ManagerAssignSchedule> findByUser(User user) {
@@ -65,6 +117,7 @@ public Integer deleteByUser(User user) throws Exception{
         User user1 = userRepository.findByUsername(user.getUsername())
                 .orElseThrow(() -> new Exception("로그인 한 정보가 없습니다."));
         managerAssignScheduleRepository.deleteByUser(user1);
+        managerWeekHoursService.deleteByUserCode(user1.getCode());
         return user1.getCode();
     }
 
@@ -73,19 +126,15 @@ public List<ManagerAssignSchedule> findByUserId(String id) {
         return scheduleRepositoryCustom.findByUserId(id);
     }
 
+    /**
+     * 이번 주 근무 / 잔업은 지금 시각으로 나눠야 하므로 배정 스케줄에서, 지난 주들은 주 배정 시간 집계에서 읽는다.
+     */
     @Transactional
-    public HashMap<Integer, Long> monthAssignWorkByUserId(String id) {
-        return scheduleRepositoryCustom.monthAssignWorkByUserId(id);
-    }
-
-    @Transactional
-    public long weekWorkByUserId(String id) {
-        return scheduleRepositoryCustom.weekWorkByUserId(id);
-    }
-
-    @Transactional
-    public long weekRemainByUserId(String id) {
-        return scheduleRepositoryCustom.weekRemainByUserId(id);
+    public ManagerWorkHoursDto workHoursByUserId(String id) {
+        ManagerWorkHoursDto workHours = scheduleRepositoryCustom.workHoursByUserId(id);
+        userRepository.findById(id).ifPresent(user -> workHours.getMonthWork()
+                .putAll(managerWeekHoursService.findPreviousWeekHours(user.getCode(), LocalDateTime.now(), MONTH_WEEKS)));
+        return workHours;
     }
 
     @Transactional
@@ -93,17 +142,22 @@ public long countByTodayAssignManager() {
         return scheduleRepositoryCustom.countByTodayAssignManager();
     }
 
-    @Transactional
-    public long weekAssignByUserId(String id) {
-        return scheduleRepositoryCustom.weekAssignByUserId(id);
-    }
-
     @Transactional
     public void update(Integer id, ManagerAssignScheduleDto dto) {
         ManagerAssignSchedule managerAssignSchedule = managerAssignScheduleRepository.findById(id).orElseThrow(() ->
                 new IllegalArgumentException("해당 스케줄이 없습니다." + id));
 
-        managerAssignSchedule.update(dto.getScheduleDateTimeStart(), dto.getScheduleDateTimeEnd());
+        updateTime(managerAssignSchedule, dto.getScheduleDateTimeStart(), dto.getScheduleDateTimeEnd());
+    }
+
+    /**
+     * 배정 시간을 바꾸고 주 배정 시간 집계도 옮긴다. (수정 요청 승인도 이 메소드로 반영)
+     */
+    @Transactional
+    public void updateTime(ManagerAssignSchedule managerAssignSchedule, LocalDateTime start, LocalDateTime end) {
+        managerWeekHoursService.subtract(managerAssignSchedule);
+        managerAssignSchedule.update(start, end);
+        managerWeekHoursService.add(managerAssignSchedule.getUser(), start, end);
     }
 
     @Transactional
@@ -118,6 +172,7 @@ public List<ManagerAssignSchedule> findAcceptReqCheckIsN() {
 
     @Transactional
     public void deleteById(Integer id) {
+        managerAssignScheduleRepository.findById(id).ifPresent(managerWeekHoursService::subtract);
         managerAssignScheduleRepository.deleteById(id);
     }
 
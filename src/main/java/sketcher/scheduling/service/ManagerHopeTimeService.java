@@ -28,6 +28,7 @@ public class ManagerHopeTimeService {
     private final UserService userService;
     private final ManagerHopeTimeRepository managerHopeTimeRepository;
     private final ManagerHopeTimeRepositoryCustomImpl managerHopeTimeRepositoryCustom;
+    private final RosterSnapshotService rosterSnapshotService;
 
     public List<ManagerHopeTime> findAll(){
         return managerHopeTimeRepository.findAll();
@@ -43,6 +44,7 @@ public HashMap<String, Long> CountByHopeTime() {
 
     @Transactional(readOnly = false)
     public Integer saveManagerHopeTime(ManagerHopeTimeDto managerHopeTimeDto){
+        rosterSnapshotService.invalidate();
         return managerHopeTimeRepository.save(managerHopeTimeDto.toEntity()).getId();
     }
 
@@ -53,6 +55,7 @@ public List<ManagerHopeTime> getHopeTimeByUserCode(Integer userCode){
 
     @Transactional(readOnly = false)
     public void deleteByUserId(String id) {
+        rosterSnapshotService.invalidate();
         managerHopeTimeRepositoryCustom.deleteByUserId(id);
     }
 }
@@ -0,0 +1,111 @@
+package sketcher.scheduling.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sketcher.scheduling.domain.ManagerAssignSchedule;
+import sketcher.scheduling.domain.ManagerWeekHours;
+import sketcher.scheduling.domain.User;
+import sketcher.scheduling.dto.ManagerAssignScheduleDto;
+import sketcher.scheduling.repository.ManagerWeekHoursRepository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 매니저별 주 배정 시간 집계 (manager_week_hours)
+ * 배정 스케줄을 바꾸는 서비스가 자신의 트랜잭션 안에서 호출하므로, 배정이 롤백되면 집계도 함께 롤백된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ManagerWeekHoursService {
+
+    private final ManagerWeekHoursRepository managerWeekHoursRepository;
+
+    @Transactional
+    public void add(User user, LocalDateTime start, LocalDateTime end) {
+        apply(user, start, end, 1);
+    }
+
+    @Transactional
+    public void subtract(ManagerAssignSchedule schedule) {
+        apply(schedule.getUser(), schedule.getScheduleDateTimeStart(), schedule.getScheduleDateTimeEnd(), -1);
+    }
+
+    /**
+     * 여러 배정을 매니저 / 주별로 먼저 합친 뒤 한 번씩만 반영
+     */
+    @Transactional
+    public void addAll(List<ManagerAssignScheduleDto> dtos) {
+        Map<Integer, Map<LocalDate, Long>> hoursByCodeAndWeek = new HashMap<>();
+        for (ManagerAssignScheduleDto dto : dtos) {
+            if (dto.getUser() == null || dto.getScheduleDateTimeStart() == null || dto.getScheduleDateTimeEnd() == null) continue;
+            hoursByCodeAndWeek.computeIfAbsent(dto.getUser().getCode(), key -> new HashMap<>())
+                    .merge(ManagerWeekHours.weekStartOf(dto.getScheduleDateTimeStart()),
+                            ManagerWeekHours.hoursOf(dto.getScheduleDateTimeStart(), dto.getScheduleDateTimeEnd()), Long::sum);
+        }
+        hoursByCodeAndWeek.forEach((code, hoursByWeek) ->
+                hoursByWeek.forEach((weekStart, hours) -> managerWeekHoursRepository.addHours(code, weekStart, hours)));
+    }
+
+    private void apply(User user, LocalDateTime start, LocalDateTime end, int sign) {
+        if (user == null || start == null || end == null) return;
+        long hours = ManagerWeekHours.hoursOf(start, end);
+        if (hours == 0) return;
+        managerWeekHoursRepository.addHours(user.getCode(), ManagerWeekHours.weekStartOf(start), sign * hours);
+    }
+
+    @Transactional
+    public void deleteByUserCode(Integer userCode) {
+        managerWeekHoursRepository.deleteByUserCode(userCode);
+    }
+
+    public long findHours(Integer userCode, LocalDateTime date) {
+        return managerWeekHoursRepository.findHours(userCode, ManagerWeekHours.weekStartOf(date));
+    }
+
+    /**
+     * @return 매니저 코드 -> date 가 속한 주의 배정 시간
+     */
+    public Map<Integer, Long> findHoursByWeek(LocalDateTime date) {
+        return managerWeekHoursRepository.findHoursByWeek(ManagerWeekHours.weekStartOf(date));
+    }
+
+    /**
+     * @return 매니저 코드 -> 지금까지의 전체 배정 시간
+     */
+    public Map<Integer, Long> findTotalHours() {
+        return managerWeekHoursRepository.findTotalHours();
+    }
+
+    /**
+     * @return 몇 주 전(1~weeks) -> date 가 속한 주보다 그만큼 앞선 주의 배정 시간 (배정이 없는 주는 0)
+     */
+    public HashMap<Integer, Long> findPreviousWeekHours(Integer userCode, LocalDateTime date, int weeks) {
+        LocalDate weekStart = ManagerWeekHours.weekStartOf(date);
+        Map<LocalDate, Long> hoursByWeek = managerWeekHoursRepository.findHoursByUserCode(userCode, weekStart.minusWeeks(weeks), weekStart);
+        HashMap<Integer, Long> hoursByWeekAgo = new HashMap<>();
+        for (int weekAgo = 1; weekAgo <= weeks; weekAgo++) {
+            hoursByWeekAgo.put(weekAgo, hoursByWeek.getOrDefault(weekStart.minusWeeks(weekAgo), 0L));
+        }
+        return hoursByWeekAgo;
+    }
+
+    /**
+     * 배정 스케줄 전체에서 집계를 다시 만든다. (집계 테이블을 처음 만들었을 때, 직접 SQL 로 배정을 넣었을 때)
+     */
+    @Transactional
+    public int rebuild() {
+        long startNanos = System.nanoTime();
+        int rows = managerWeekHoursRepository.rebuild();
+        log.info("manager week hours rebuild : rows={}, {}ms", rows, Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+        return rows;
+    }
+}
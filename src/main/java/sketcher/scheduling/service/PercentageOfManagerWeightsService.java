@@ -3,6 +3,7 @@
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import sketcher.scheduling.algorithm.SolveResultCache;
 import sketcher.scheduling.domain.PercentageOfManagerWeights;
 import sketcher.scheduling.dto.PercentageOfManagerWeightsDto;
 import sketcher.scheduling.repository.PercentageOfManagerWeightsRepository;
@@ -15,9 +16,11 @@
 public class PercentageOfManagerWeightsService {
 
     private final PercentageOfManagerWeightsRepository percentageOfManagerWeightsRepository;
+    private final SolveResultCache solveResultCache;
 
     public void savePercentageOfManagerWeights(PercentageOfManagerWeightsDto percentageDto) {
         percentageOfManagerWeightsRepository.save(percentageDto.toEntity());
+        solveResultCache.invalidateAll();
     }
 
     @Transactional
@@ -30,7 +33,7 @@ public void updatePercentageOfManagerWeights(PercentageOfManagerWeightsDto perce
         if (weightsOptional.isPresent()) {
             PercentageOfManagerWeights percentageOfManagerWeights = weightsOptional.get();
             percentageOfManagerWeights.update(percentageDto.getHigh(), percentageDto.getMiddle(), percentageDto.getLow());
-
+            solveResultCache.invalidateAll();
         }
 
     }
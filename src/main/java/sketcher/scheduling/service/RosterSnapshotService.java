@@ -0,0 +1,72 @@
+package sketcher.scheduling.service;
+
+import com.querydsl.core.Tuple;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sketcher.scheduling.algorithm.RosterSnapshot;
+import sketcher.scheduling.algorithm.SolveResultCache;
+import sketcher.scheduling.repository.UserRepositoryCustom;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static sketcher.scheduling.domain.QManagerHopeTime.managerHopeTime;
+import static sketcher.scheduling.domain.QUser.user;
+
+/**
+ * 매니저 명단 스냅샷을 한 번의 조회로 만들어 재사용
+ * User, ManagerHopeTime 이 바뀌면 invalidate() 로 버리고 다음 요청 때 다시 읽는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class RosterSnapshotService {
+
+    private final UserRepositoryCustom userRepositoryCustom;
+    private final SolveResultCache solveResultCache;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile RosterSnapshot snapshot;
+
+    public RosterSnapshot getSnapshot() {
+        RosterSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+
+        long loadedGeneration = generation.get();
+        RosterSnapshot.Builder builder = RosterSnapshot.builder();
+        for (Tuple tuple : userRepositoryCustom.findManagerRoster()) {
+            builder.add(tuple.get(user.code), tuple.get(user.user_joinDate), tuple.get(managerHopeTime.start_time));
+        }
+        RosterSnapshot loaded = builder.build();
+
+        synchronized (this) {
+            if (generation.get() == loadedGeneration) {   // 읽는 도중 명단이 바뀌었다면 저장하지 않음
+                snapshot = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 명단 변경 시 호출. 트랜잭션 안이라면 커밋 이후에도 한 번 더 비운다.
+     */
+    public void invalidate() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        }
+    }
+
+    private synchronized void clear() {
+        generation.incrementAndGet();
+        snapshot = null;
+        solveResultCache.invalidateAll();     // 명단이 바뀌면 이전 배정 결과도 버림
+    }
+}
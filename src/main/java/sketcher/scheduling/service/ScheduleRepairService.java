@@ -0,0 +1,145 @@
+package sketcher.scheduling.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sketcher.scheduling.algorithm.AutoScheduling;
+import sketcher.scheduling.config.LocalDateTimeConfig;
+import sketcher.scheduling.domain.ManagerAssignSchedule;
+import sketcher.scheduling.domain.User;
+import sketcher.scheduling.repository.ManagerAssignScheduleRepository;
+import sketcher.scheduling.repository.UserRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 휴직 / 탈퇴 매니저의 앞으로의 배정만 다른 매니저로 다시 채운다.
+ * 전체를 다시 배정하지 않고, 비게 된 시간의 좌석에서만 증가 경로를 찾는다.
+ */
+@Slf4j
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class ScheduleRepairService {
+
+    private final ManagerAssignScheduleRepository assignScheduleRepository;
+    private final UserRepository userRepository;
+    private final AutoScheduling autoScheduling;
+    private final ManagerWeekHoursService managerWeekHoursService;
+
+    LocalDateTimeConfig ldt = new LocalDateTimeConfig();
+
+    /**
+     * @return 다른 매니저로 다시 채운 시간 수
+     */
+    public int repair(User user) {
+        long startNanos = System.nanoTime();
+        Integer code = user.getCode();
+
+        /* 주(월요일 시작)별로 비게 될 배정 */
+        TreeMap<LocalDateTime, List<ManagerAssignSchedule>> vacatedByWeek = new TreeMap<>();
+        for (ManagerAssignSchedule schedule : assignScheduleRepository.findAfterByUserCode(code, LocalDateTime.now())) {
+            LocalDateTime weekStart = ldt.getWeekStart(schedule.getScheduleDateTimeStart().truncatedTo(ChronoUnit.DAYS));
+            vacatedByWeek.computeIfAbsent(weekStart, key -> new ArrayList<>()).add(schedule);
+        }
+
+        int vacatedCount = 0;
+        int refilledCount = 0;
+        for (Map.Entry<LocalDateTime, List<ManagerAssignSchedule>> entry : vacatedByWeek.entrySet()) {
+            LocalDateTime weekStart = entry.getKey();
+            LocalDateTime weekEnd = weekStart.plusDays(AutoScheduling.DAYS_OF_WEEK);
+
+            Map<Integer, List<Integer>> assignedBySlot = new HashMap<>();
+            for (ManagerAssignSchedule schedule : assignScheduleRepository.findBetweenWithUser(weekStart, weekEnd)) {
+                if (schedule.getUser() == null || code.equals(schedule.getUser().getCode())) continue;
+                for (Integer slot : slotsOf(schedule, weekStart)) {
+                    List<Integer> codes = assignedBySlot.computeIfAbsent(slot, key -> new ArrayList<>());
+                    if (!codes.contains(schedule.getUser().getCode())) codes.add(schedule.getUser().getCode());
+                }
+            }
+            Map<Integer, Integer> vacatedBySlot = new HashMap<>();
+            for (ManagerAssignSchedule schedule : entry.getValue()) {
+                for (Integer slot : slotsOf(schedule, weekStart)) {
+                    vacatedBySlot.merge(slot, 1, Integer::sum);
+                    vacatedCount++;
+                }
+            }
+
+            Map<Integer, List<Integer>> refilledBySlot = autoScheduling.repairWeek(assignedBySlot, vacatedBySlot, code);
+            refilledCount += persist(entry.getValue(), weekStart, refilledBySlot);
+        }
+
+        log.info("schedule repair : user={}, vacated={}h, refilled={}h, {}ms",
+                code, vacatedCount, refilledCount, Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+        return refilledCount;
+    }
+
+    /**
+     * 한 시간짜리 배정은 매니저만 바꾸고, 여러 시간짜리 배정은 채워진 시간마다 한 시간짜리 배정으로 나눈다.
+     * 채우지 못한 시간은 삭제한다.
+     */
+    private int persist(List<ManagerAssignSchedule> vacatedSchedules, LocalDateTime weekStart, Map<Integer, List<Integer>> refilledBySlot) {
+        Map<Integer, Deque<Integer>> remainBySlot = new HashMap<>();
+        Set<Integer> codes = new HashSet<>();
+        for (Map.Entry<Integer, List<Integer>> entry : refilledBySlot.entrySet()) {
+            remainBySlot.put(entry.getKey(), new ArrayDeque<>(entry.getValue()));
+            codes.addAll(entry.getValue());
+        }
+        Map<Integer, User> userByCode = userRepository.findAllById(codes).stream()
+                .collect(Collectors.toMap(User::getCode, Function.identity()));
+
+        int refilledCount = 0;
+        for (ManagerAssignSchedule schedule : vacatedSchedules) {
+            List<Integer> slots = slotsOf(schedule, weekStart);
+            if (slots.size() == 1) {
+                Integer refilledCode = remainBySlot.getOrDefault(slots.get(0), new ArrayDeque<>()).poll();
+                managerWeekHoursService.subtract(schedule);
+                if (refilledCode != null) {
+                    schedule.updateUser(userByCode.get(refilledCode));
+                    managerWeekHoursService.add(schedule.getUser(), schedule.getScheduleDateTimeStart(), schedule.getScheduleDateTimeEnd());
+                    refilledCount++;
+                } else {
+                    assignScheduleRepository.delete(schedule);
+                }
+                continue;
+            }
+
+            managerWeekHoursService.subtract(schedule);
+            assignScheduleRepository.delete(schedule);
+            for (Integer slot : slots) {
+                Integer refilledCode = remainBySlot.getOrDefault(slot, new ArrayDeque<>()).poll();
+                if (refilledCode == null) continue;
+                LocalDateTime start = weekStart.plusHours(slot);
+                assignScheduleRepository.save(ManagerAssignSchedule.builder()
+                        .user(userByCode.get(refilledCode))
+                        .scheduleDateTimeStart(start)
+                        .scheduleDateTimeEnd(start.plusHours(1))
+                        .build());
+                managerWeekHoursService.add(userByCode.get(refilledCode), start, start.plusHours(1));
+                refilledCount++;
+            }
+        }
+        return refilledCount;
+    }
+
+    /**
+     * 배정이 걸쳐 있는 이번 주 시간 슬롯 (요일 * 24 + 시간)
+     */
+    private List<Integer> slotsOf(ManagerAssignSchedule schedule, LocalDateTime weekStart) {
+        List<Integer> slots = new ArrayList<>();
+        LocalDateTime time = schedule.getScheduleDateTimeStart().truncatedTo(ChronoUnit.HOURS);
+        for (; time.isBefore(schedule.getScheduleDateTimeEnd()); time = time.plusHours(1)) {
+            long slot = ChronoUnit.HOURS.between(weekStart, time);
+            if (0 <= slot && slot < AutoScheduling.DAYS_OF_WEEK * 24) {
+                slots.add((int) slot);
+            }
+        }
+        return slots;
+    }
+}
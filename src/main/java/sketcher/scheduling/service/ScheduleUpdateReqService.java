@@ -52,7 +52,7 @@ public void duplicateUpdateRequest(ManagerAssignSchedule assignSchedule, LocalDa
     public void acceptReq(Integer id) {
         ScheduleUpdateReq updateReq = updateReqRepository.findById(id).orElseThrow(() -> new IllegalStateException("Not Found Id"));
         ManagerAssignSchedule assignSchedule = updateReq.getAssignSchedule();
-        assignSchedule.update(updateReq.getChangeStartDate(),updateReq.getChangeEndDate());
+        assignScheduleService.updateTime(assignSchedule, updateReq.getChangeStartDate(), updateReq.getChangeEndDate());
         updateReq.updateReqAcceptCheckToY();
     }
 
@@ -21,8 +21,10 @@
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 
@@ -33,6 +35,7 @@ public class UserService implements UserDetailsService {
     private final UserRepository userRepository;
     private final UserRepositoryCustom userRepositoryCustom;
     private final ManagerHopeTimeRepositoryCustomImpl managerHopeTimeRepositoryCustom;
+    private final RosterSnapshotService rosterSnapshotService;
 
     public List<User> findAll() {
         return userRepository.findAll();
@@ -51,6 +54,17 @@ public Optional<User> findByCode(int code) {
         return userRepository.findByCode(code);
     }
 
+    /**
+     * 매니저 코드 여러 개를 한 번의 in 쿼리로 조회
+     */
+    public Map<Integer, User> findAllByCode(Collection<Integer> codes) {
+        Map<Integer, User> usersByCode = new HashMap<>();
+        for (User user : userRepository.findAllById(codes)) {
+            usersByCode.put(user.getCode(), user);
+        }
+        return usersByCode;
+    }
+
     public Optional<User> findById(String id) {
         return userRepository.findById(id);
     }
@@ -107,6 +121,7 @@ public String saveUser(UserDto user) {
         user.setManagerScore(0.0);
         user.setDropoutReqCheck('N');
         user.setVacationReqCheck('N');
+        rosterSnapshotService.invalidate();
         return userRepository.save(user.toEntity()).getId();
     }
 
@@ -144,18 +159,23 @@ public List<User> dropoutUserList() {
 
     private final ManagerAssignScheduleRepository assignScheduleRepository;
     private final ManagerHopeTimeRepository hopeTimeRepository;
+    private final ScheduleRepairService scheduleRepairService;
+    private final ManagerWeekHoursService managerWeekHoursService;
 
     //유저삭제
     @Transactional
     public void userSetNull(User user) {
-        //1. 배정스케줄 및 희망스케줄 연결관계 삭제 (NULL로 처리)
+        //1. 앞으로의 배정스케줄은 다른 매니저로 다시 채우고, 지난 배정스케줄 및 희망스케줄 연결관계 삭제 (NULL로 처리)
+        scheduleRepairService.repair(user);
         assignScheduleRepository.bulkUserSetNull(user);
+        managerWeekHoursService.deleteByUserCode(user.getCode());
         hopeTimeRepository.bulkUserSetNull(user);
         //2. 유저 삭제
         deleteUser(user);
     }
 
     public void deleteUser(User user) {
+        rosterSnapshotService.invalidate();
         userRepository.delete(user);
     }
 
@@ -231,6 +251,8 @@ public void updateWorkingStatusToLeave(User user) {
                 .build();
 
         updateUser(userDto);
+        // 휴직 매니저의 앞으로의 배정스케줄은 다른 매니저로 다시 채움
+        scheduleRepairService.repair(user);
     }
     @Transactional
     public void updateWorkingStatusToManager(User user) {
@@ -271,6 +293,7 @@ public void updateVacationReq(User user) {
     public String updateUser(UserDto userDto) {
         User user = userRepository.findById(userDto.getId()).orElseThrow(() -> new IllegalArgumentException("해당 회원이 없습니다. id=" + userDto.getId()));
         user.update(userDto.getAuthRole(), userDto.getUserTel(), userDto.getDropoutReqCheck());
+        rosterSnapshotService.invalidate();   // 권한(MANAGER/LEAVE) 변경 시 스케줄링 명단도 바뀜
 
         return userRepository.save(userDto.toEntity()).getId();
     }
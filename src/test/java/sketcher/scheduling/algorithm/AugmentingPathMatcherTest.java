@@ -0,0 +1,83 @@
+package sketcher.scheduling.algorithm;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static sketcher.scheduling.algorithm.ManagerFixture.manager;
+
+public class AugmentingPathMatcherTest {
+
+    @Test
+    public void 동시간대_배정_매니저_제외() {
+        //given
+        Manager m3 = manager(0, 3, 1);
+        Manager m1 = manager(1, 1, 2);
+        List<Manager> managerList = new ArrayList<>();
+        managerList.add(m3);
+        managerList.add(m1);
+
+        Schedule normal = new Schedule(1, 10, 1, false);
+        Schedule fixed = new Schedule(2, 10, 3, true);
+        List<Schedule> scheduleList = new ArrayList<>();
+        scheduleList.add(normal);
+        scheduleList.add(fixed);
+
+        //when
+        int count = new AugmentingPathMatcher().match(scheduleList, managerList);
+
+        //then : 먼저 배정된 M3 는 같은 시간 M3 고정 스케줄로 옮겨지지 않음 (기존 firstDFS 와 동일)
+        Assert.assertEquals(1, count);
+        Assert.assertEquals(Collections.singletonList(m3), normal.getManagers());
+        Assert.assertTrue(fixed.getManagers().isEmpty());
+        Assert.assertEquals(0, (int) m1.getTotalAssignTime());
+    }
+
+    @Test
+    public void 배정_시간_상한_초과_제외() {
+        //given
+        Manager manager = manager(0, 2, 1);
+        manager.setTotalAssignTime(Manager.TOTAL_ASSIGN_LIMIT);
+        List<Manager> managerList = new ArrayList<>();
+        managerList.add(manager);
+
+        List<Schedule> scheduleList = new ArrayList<>();
+        scheduleList.add(new Schedule(1, 10, 2, false));
+
+        //when
+        int count = new AugmentingPathMatcher().match(scheduleList, managerList);
+
+        //then
+        Assert.assertEquals(0, count);
+        Assert.assertTrue(scheduleList.get(0).getManagers().isEmpty());
+    }
+
+    @Test
+    public void 시간당_필요인원_한번에_배정() {
+        //given : 10시에 5명 필요 (M3 고정 2명)
+        List<Manager> managerList = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            managerList.add(manager(i, i < 3 ? 3 : 1, 1));
+        }
+        Schedule fixed = new Schedule(1, 10, 3, true, 2);
+        Schedule normal = new Schedule(2, 10, 3, false, 3);
+        List<Schedule> scheduleList = new ArrayList<>();
+        scheduleList.add(fixed);
+        scheduleList.add(normal);
+
+        //when
+        int count = new AugmentingPathMatcher().match(scheduleList, managerList);
+
+        //then
+        Assert.assertEquals(5, count);
+        Assert.assertEquals(2, fixed.getManagers().size());
+        Assert.assertEquals(3, normal.getManagers().size());
+        for (Manager manager : fixed.getManagers()) {
+            Assert.assertEquals(3, (int) manager.getWeight());
+            Assert.assertFalse(normal.getManagers().contains(manager));
+        }
+    }
+}
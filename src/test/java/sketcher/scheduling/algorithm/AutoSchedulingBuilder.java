@@ -0,0 +1,65 @@
+package sketcher.scheduling.algorithm;
+
+import sketcher.scheduling.repository.EstimatedNumOfCardsPerHourRepository;
+import sketcher.scheduling.repository.PercentageOfManagerWeightsRepository;
+import sketcher.scheduling.service.RosterSnapshotService;
+
+/**
+ * 테스트용 AutoScheduling 생성
+ * 결과 캐시와 지표는 끈 상태(disabled)가 기본이고, 바꿔야 하는 값만 지정한다.
+ */
+public class AutoSchedulingBuilder {
+
+    private final RosterSnapshotService rosterSnapshotService;
+    private final EstimatedNumOfCardsPerHourRepository estimatedNumOfCardsPerHourRepository;
+    private final PercentageOfManagerWeightsRepository percentageOfManagerWeightsRepository;
+    private MatchingEngineType matchingEngineType = MatchingEngineType.AUGMENTING_PATH;
+    private int localSearchIterations = AutoScheduling.LOCAL_SEARCH_ITERATIONS;
+    private SolveResultCache solveResultCache = SolveResultCache.disabled();
+    private int slotMinutes = AutoScheduling.SLOT_MINUTES;
+    private SchedulingMetrics schedulingMetrics = SchedulingMetrics.disabled();
+
+    private AutoSchedulingBuilder(RosterSnapshotService rosterSnapshotService,
+                                  EstimatedNumOfCardsPerHourRepository estimatedNumOfCardsPerHourRepository,
+                                  PercentageOfManagerWeightsRepository percentageOfManagerWeightsRepository) {
+        this.rosterSnapshotService = rosterSnapshotService;
+        this.estimatedNumOfCardsPerHourRepository = estimatedNumOfCardsPerHourRepository;
+        this.percentageOfManagerWeightsRepository = percentageOfManagerWeightsRepository;
+    }
+
+    public static AutoSchedulingBuilder of(RosterSnapshotService rosterSnapshotService,
+                                           EstimatedNumOfCardsPerHourRepository estimatedNumOfCardsPerHourRepository,
+                                           PercentageOfManagerWeightsRepository percentageOfManagerWeightsRepository) {
+        return new AutoSchedulingBuilder(rosterSnapshotService, estimatedNumOfCardsPerHourRepository, percentageOfManagerWeightsRepository);
+    }
+
+    public AutoSchedulingBuilder matchingEngine(MatchingEngineType matchingEngineType) {
+        this.matchingEngineType = matchingEngineType;
+        return this;
+    }
+
+    public AutoSchedulingBuilder localSearchIterations(int localSearchIterations) {
+        this.localSearchIterations = localSearchIterations;
+        return this;
+    }
+
+    public AutoSchedulingBuilder solveResultCache(SolveResultCache solveResultCache) {
+        this.solveResultCache = solveResultCache;
+        return this;
+    }
+
+    public AutoSchedulingBuilder slotMinutes(int slotMinutes) {
+        this.slotMinutes = slotMinutes;
+        return this;
+    }
+
+    public AutoSchedulingBuilder schedulingMetrics(SchedulingMetrics schedulingMetrics) {
+        this.schedulingMetrics = schedulingMetrics;
+        return this;
+    }
+
+    public AutoScheduling build() {
+        return new AutoScheduling(rosterSnapshotService, estimatedNumOfCardsPerHourRepository, percentageOfManagerWeightsRepository,
+                matchingEngineType, localSearchIterations, solveResultCache, slotMinutes, schedulingMetrics);
+    }
+}
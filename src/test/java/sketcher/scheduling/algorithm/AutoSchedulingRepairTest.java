@@ -0,0 +1,117 @@
+package sketcher.scheduling.algorithm;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import sketcher.scheduling.domain.EstimatedNumOfCardsPerHour;
+import sketcher.scheduling.domain.PercentageOfManagerWeights;
+import sketcher.scheduling.repository.EstimatedNumOfCardsPerHourRepository;
+import sketcher.scheduling.repository.PercentageOfManagerWeightsRepository;
+import sketcher.scheduling.service.RosterSnapshotService;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.mockito.Mockito.*;
+
+public class AutoSchedulingRepairTest {
+
+    static final int MANAGER_SIZE = 4;
+    static final int LEAVE_CODE = 1;
+
+    RosterSnapshotService rosterSnapshotService = mock(RosterSnapshotService.class);
+    EstimatedNumOfCardsPerHourRepository cardsRepository = mock(EstimatedNumOfCardsPerHourRepository.class);
+    PercentageOfManagerWeightsRepository percentageRepository = mock(PercentageOfManagerWeightsRepository.class);
+
+    @Before
+    public void setUp() {
+        List<EstimatedNumOfCardsPerHour> cards = new ArrayList<>();
+        for (int time = 0; time < 24; time++) {
+            cards.add(new EstimatedNumOfCardsPerHour(time, 100));
+        }
+        when(cardsRepository.findAll()).thenReturn(cards);
+        when(cardsRepository.totalCardValueAvg()).thenReturn(100);
+        when(percentageRepository.findAll()).thenReturn(Arrays.asList(new PercentageOfManagerWeights(1, 30, 40, 30)));
+
+        RosterSnapshot.Builder roster = RosterSnapshot.builder();
+        for (int code = 1; code <= MANAGER_SIZE; code++) {
+            roster.add(code, LocalDateTime.of(2022, 1, 1, 0, 0).plusDays(code), 6);
+        }
+        when(rosterSnapshotService.getSnapshot()).thenReturn(roster.build());
+    }
+
+    @Test
+    public void 빈_좌석만_다시_배정() {
+        //given
+        AutoScheduling autoScheduling = AutoSchedulingBuilder.of(rosterSnapshotService, cardsRepository, percentageRepository).build();
+        Map<Integer, List<Integer>> assignedBySlot = new HashMap<>();
+        assignedBySlot.put(6, new ArrayList<>(Arrays.asList(2, 3)));
+        assignedBySlot.put(7, new ArrayList<>(Arrays.asList(2)));
+        Map<Integer, Integer> vacatedBySlot = new HashMap<>();
+        vacatedBySlot.put(6, 1);
+        vacatedBySlot.put(7, 1);
+
+        //when
+        Map<Integer, List<Integer>> refilledBySlot = autoScheduling.repairWeek(assignedBySlot, vacatedBySlot, LEAVE_CODE);
+
+        //then
+        Assert.assertEquals(Collections.singletonList(4), refilledBySlot.get(6));
+        Assert.assertEquals(1, refilledBySlot.get(7).size());
+        Assert.assertNotEquals(Integer.valueOf(2), refilledBySlot.get(7).get(0));
+        Assert.assertNotEquals(Integer.valueOf(LEAVE_CODE), refilledBySlot.get(7).get(0));
+    }
+
+    @Test
+    public void 하루_배정_시간_상한_매니저는_제외() {
+        //given
+        AutoScheduling autoScheduling = AutoSchedulingBuilder.of(rosterSnapshotService, cardsRepository, percentageRepository).build();
+        Map<Integer, List<Integer>> assignedBySlot = new HashMap<>();
+        for (int time = 6; time < 6 + Manager.DAY_ASSIGN_LIMIT; time++) {
+            assignedBySlot.put(time, new ArrayList<>(Arrays.asList(2, 3, 4)));
+        }
+        assignedBySlot.put(24 + 6, new ArrayList<>(Arrays.asList(2, 3)));
+        Map<Integer, Integer> vacatedBySlot = new HashMap<>();
+        vacatedBySlot.put(10, 1);
+        vacatedBySlot.put(24 + 6, 1);
+
+        //when
+        Map<Integer, List<Integer>> refilledBySlot = autoScheduling.repairWeek(assignedBySlot, vacatedBySlot, LEAVE_CODE);
+
+        //then
+        Assert.assertTrue(refilledBySlot.get(10).isEmpty());
+        Assert.assertEquals(Collections.singletonList(4), refilledBySlot.get(24 + 6));
+    }
+
+    @Test
+    public void 빈_M3_고정_좌석은_M3_매니저로만_다시_배정() {
+        //given : 6시는 가중치 3 (필요 8명 중 M3 고정 1석), M3 매니저는 휴직하는 1번뿐
+        List<EstimatedNumOfCardsPerHour> cards = new ArrayList<>();
+        for (int time = 0; time < 24; time++) {
+            cards.add(new EstimatedNumOfCardsPerHour(time, time == 6 ? 400 : 100));
+        }
+        when(cardsRepository.findAll()).thenReturn(cards);
+        AutoScheduling autoScheduling = AutoSchedulingBuilder.of(rosterSnapshotService, cardsRepository, percentageRepository).build();
+        Map<Integer, List<Integer>> assignedBySlot = new HashMap<>();
+        assignedBySlot.put(6, new ArrayList<>(Arrays.asList(2, 3)));
+        assignedBySlot.put(7, new ArrayList<>(Arrays.asList(2)));
+        Map<Integer, Integer> vacatedBySlot = new HashMap<>();
+        vacatedBySlot.put(6, 1);
+        vacatedBySlot.put(7, 1);
+
+        //when
+        Map<Integer, List<Integer>> refilledBySlot = autoScheduling.repairWeek(assignedBySlot, vacatedBySlot, LEAVE_CODE);
+
+        //then : M3 고정 좌석은 비워 두고, 일반 좌석만 다시 채움
+        Assert.assertTrue(refilledBySlot.get(6).isEmpty());
+        Assert.assertEquals(1, refilledBySlot.get(7).size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void 한_시간_슬롯이_아니면_다시_배정하지_않음() {
+        AutoScheduling autoScheduling = AutoSchedulingBuilder.of(rosterSnapshotService, cardsRepository, percentageRepository)
+                .slotMinutes(30)
+                .build();
+
+        autoScheduling.repairWeek(new HashMap<>(), Collections.singletonMap(6, 1), LEAVE_CODE);
+    }
+}
@@ -0,0 +1,308 @@
+package sketcher.scheduling.algorithm;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import sketcher.scheduling.domain.EstimatedNumOfCardsPerHour;
+import sketcher.scheduling.domain.PercentageOfManagerWeights;
+import sketcher.scheduling.object.HopeTime;
+import sketcher.scheduling.repository.EstimatedNumOfCardsPerHourRepository;
+import sketcher.scheduling.repository.PercentageOfManagerWeightsRepository;
+import sketcher.scheduling.service.RosterSnapshotService;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.mockito.Mockito.*;
+
+public class AutoSchedulingWeekTest {
+
+    static final int MANAGER_SIZE = 20;
+
+    RosterSnapshotService rosterSnapshotService = mock(RosterSnapshotService.class);
+    EstimatedNumOfCardsPerHourRepository cardsRepository = mock(EstimatedNumOfCardsPerHourRepository.class);
+    PercentageOfManagerWeightsRepository percentageRepository = mock(PercentageOfManagerWeightsRepository.class);
+
+    int[] userCode = new int[MANAGER_SIZE];
+    int[] userCurrentTime = new int[MANAGER_SIZE];
+    List<List<Integer>> hopeTimeList = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        List<EstimatedNumOfCardsPerHour> cards = new ArrayList<>();
+        for (int time = 0; time < 24; time++) {
+            cards.add(new EstimatedNumOfCardsPerHour(time, 100 + time * 10));
+        }
+        when(cardsRepository.findAll()).thenReturn(cards);
+        when(cardsRepository.totalCardValueAvg()).thenReturn(215);
+        when(percentageRepository.findAll()).thenReturn(Arrays.asList(new PercentageOfManagerWeights(1, 30, 40, 30)));
+
+        RosterSnapshot.Builder roster = RosterSnapshot.builder();
+        for (int i = 0; i < MANAGER_SIZE; i++) {
+            userCode[i] = i + 1;
+            hopeTimeList.add(Arrays.asList(0, 6, 12, 18));
+            for (Integer startTime : hopeTimeList.get(i)) {
+                roster.add(i + 1, LocalDateTime.of(2022, 1, 1, 0, 0).plusDays(i), startTime);
+            }
+        }
+        when(rosterSnapshotService.getSnapshot()).thenReturn(roster.build());
+    }
+
+    @Test
+    public void 일주일_스케줄_입력값_한번만_조회() {
+        //given
+        AutoScheduling autoScheduling = AutoSchedulingBuilder.of(rosterSnapshotService, cardsRepository, percentageRepository).build();
+
+        //when
+        List<ArrayList<ResultScheduling>> weekResults = autoScheduling.runWeekAlgorithm(userCode, userCurrentTime, hopeTimeList, AutoScheduling.DAYS_OF_WEEK);
+
+        //then
+        Assert.assertEquals(AutoScheduling.DAYS_OF_WEEK, weekResults.size());
+        verify(cardsRepository, times(1)).findAll();
+        verify(percentageRepository, times(1)).findAll();
+        verify(rosterSnapshotService, times(1)).getSnapshot();
+    }
+
+    @Test
+    public void 현재_배정시간_요일간_누적() {
+        //given
+        AutoScheduling autoScheduling = AutoSchedulingBuilder.of(rosterSnapshotService, cardsRepository, percentageRepository).build();
+
+        //when
+        List<ArrayList<ResultScheduling>> weekResults = autoScheduling.runWeekAlgorithm(userCode, userCurrentTime, hopeTimeList, AutoScheduling.DAYS_OF_WEEK);
+
+        //then
+        int[] assignedHours = new int[MANAGER_SIZE + 1];
+        for (ArrayList<ResultScheduling> dayResults : weekResults) {
+            int[] dayHours = new int[MANAGER_SIZE + 1];
+            for (ResultScheduling result : dayResults) {
+                dayHours[result.getUserCode()]++;
+                assignedHours[result.getUserCode()]++;
+            }
+            for (int code = 1; code <= MANAGER_SIZE; code++) {
+                Assert.assertTrue(dayHours[code] <= Manager.DAY_ASSIGN_LIMIT);
+            }
+        }
+        for (int code = 1; code <= MANAGER_SIZE; code++) {
+            Assert.assertTrue(assignedHours[code] <= Manager.TOTAL_ASSIGN_LIMIT);
+        }
+        Assert.assertTrue(weekResults.get(AutoScheduling.DAYS_OF_WEEK - 1).size() < weekResults.get(0).size());
+    }
+
+    @Test
+    public void 저장된_배정시간은_상한에만_포함() {
+        //given : 1번 매니저는 그 주에 이미 8시간이 저장되어 있음
+        AutoScheduling autoScheduling = AutoSchedulingBuilder.of(rosterSnapshotService, cardsRepository, percentageRepository).build();
+        Map<Integer, Long> savedHoursByCode = Collections.singletonMap(1, 8L);
+
+        //when
+        SchedulingContext context = autoScheduling.prepareWeek(userCode, userCurrentTime, hopeTimeList, AutoScheduling.DAYS_OF_WEEK,
+                Collections.emptyMap(), savedHoursByCode);
+        autoScheduling.solve(context, Deadline.NONE);
+        List<ArrayList<ResultScheduling>> weekResults = autoScheduling.results(context);
+
+        //then : 남은 2시간까지만 배정되고, 결과의 현재 배정 시간에는 저장된 8시간이 들어가지 않음
+        int assignedHours = 0;
+        for (ArrayList<ResultScheduling> dayResults : weekResults) {
+            for (ResultScheduling result : dayResults) {
+                if (result.getUserCode() != 1) continue;
+                assignedHours++;
+                Assert.assertTrue(result.getCurrentTime() <= Manager.TOTAL_ASSIGN_LIMIT - 8);
+            }
+        }
+        Assert.assertTrue(0 < assignedHours && assignedHours <= Manager.TOTAL_ASSIGN_LIMIT - 8);
+    }
+
+    @Test
+    public void 슬롯_30분_배정() {
+        //given
+        AutoScheduling autoScheduling = AutoSchedulingBuilder.of(rosterSnapshotService, cardsRepository, percentageRepository)
+                .slotMinutes(30)
+                .build();
+
+        //when
+        SchedulingContext context = autoScheduling.prepareWeek(userCode, userCurrentTime, hopeTimeList, AutoScheduling.DAYS_OF_WEEK);
+        autoScheduling.solve(context, Deadline.NONE);
+        List<ArrayList<ResultScheduling>> weekResults = autoScheduling.results(context);
+
+        //then
+        int[] assignedSlots = new int[MANAGER_SIZE + 1];
+        for (ArrayList<ResultScheduling> dayResults : weekResults) {
+            int[] daySlots = new int[MANAGER_SIZE + 1];
+            Set<String> seats = new HashSet<>();
+            for (ResultScheduling result : dayResults) {
+                Assert.assertTrue(result.getStartMinute() == 0 || result.getStartMinute() == 30);
+                Assert.assertTrue(seats.add(result.getUserCode() + "/" + result.getStartTime() + ":" + result.getStartMinute()));
+                daySlots[result.getUserCode()]++;
+                assignedSlots[result.getUserCode()]++;
+            }
+            for (int code = 1; code <= MANAGER_SIZE; code++) {
+                Assert.assertTrue(daySlots[code] <= Manager.DAY_ASSIGN_LIMIT * 2);
+            }
+        }
+        for (int code = 1; code <= MANAGER_SIZE; code++) {
+            Assert.assertTrue(assignedSlots[code] <= Manager.TOTAL_ASSIGN_LIMIT * 2);
+        }
+        SchedulingCoverage coverage = autoScheduling.coverage(context);
+        Assert.assertEquals(Schedule.HOURS_PER_DAY * 2, coverage.getRequired()[0].length);
+        Assert.assertEquals(weekResults.stream().mapToInt(List::size).sum(), coverage.totalFilled());
+    }
+
+    @Test
+    public void 단계별_시간_탐색_횟수_기록() {
+        //given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AutoScheduling autoScheduling = AutoSchedulingBuilder.of(rosterSnapshotService, cardsRepository, percentageRepository)
+                .matchingEngine(MatchingEngineType.ITERATIVE_AUGMENTING_PATH)
+                .localSearchIterations(2000)    // 지역 탐색은 켰을 때만 기록
+                .schedulingMetrics(new SchedulingMetrics(meterRegistry))
+                .build();
+
+        //when
+        List<ArrayList<ResultScheduling>> weekResults = autoScheduling.runWeekAlgorithm(userCode, userCurrentTime, hopeTimeList, AutoScheduling.DAYS_OF_WEEK);
+
+        //then
+        for (String phase : Arrays.asList("manager_weight", "schedule_nodes", "matching", "local_search")) {
+            Assert.assertEquals(AutoScheduling.DAYS_OF_WEEK, meterRegistry.get(SchedulingMetrics.PHASE_TIMER)
+                    .tags("phase", phase, "band", HopeTime.MORNING.name(), "size", "lt100").timer().count());
+        }
+        Assert.assertEquals(1, meterRegistry.get(SchedulingMetrics.PHASE_TIMER).tags("phase", "roster_load").timer().count());
+        Assert.assertEquals(1, meterRegistry.get(SchedulingMetrics.PHASE_TIMER).tags("phase", "result_build").timer().count());
+
+        double augmentations = meterRegistry.get(SchedulingMetrics.AUGMENTATIONS).counters().stream().mapToDouble(Counter::count).sum();
+        Assert.assertEquals(weekResults.stream().mapToInt(List::size).sum(), (int) augmentations);
+        Assert.assertTrue(meterRegistry.get(SchedulingMetrics.DFS_CALLS).counters().stream().mapToDouble(Counter::count).sum() >= augmentations);
+        Assert.assertEquals(3 * 4, meterRegistry.get(SchedulingMetrics.REJECTIONS).counters().size());   // 조건 3개 x 시간대 4개
+    }
+
+    @Test
+    public void 같은_입력값_배정결과_재사용() {
+        //given
+        SolveResultCache solveResultCache = new SolveResultCache(8);
+        AutoScheduling autoScheduling = AutoSchedulingBuilder.of(rosterSnapshotService, cardsRepository, percentageRepository)
+                .solveResultCache(solveResultCache)
+                .build();
+        List<ArrayList<ResultScheduling>> first = autoScheduling.runWeekAlgorithm(userCode, userCurrentTime, hopeTimeList, AutoScheduling.DAYS_OF_WEEK);
+
+        //when
+        SchedulingContext same = autoScheduling.prepareWeek(userCode, userCurrentTime, hopeTimeList, AutoScheduling.DAYS_OF_WEEK);
+        int[] changedCurrentTime = userCurrentTime.clone();
+        changedCurrentTime[0]++;
+        SchedulingContext changed = autoScheduling.prepareWeek(userCode, changedCurrentTime, hopeTimeList, AutoScheduling.DAYS_OF_WEEK);
+        solveResultCache.invalidateAll();
+        SchedulingContext invalidated = autoScheduling.prepareWeek(userCode, userCurrentTime, hopeTimeList, AutoScheduling.DAYS_OF_WEEK);
+
+        //then
+        Assert.assertTrue(same.isComplete());
+        Assert.assertTrue(autoScheduling.solve(same, Deadline.afterMillis(0)));
+        List<ArrayList<ResultScheduling>> cached = autoScheduling.results(same);
+        for (int day = 0; day < AutoScheduling.DAYS_OF_WEEK; day++) {
+            Assert.assertEquals(first.get(day).size(), cached.get(day).size());
+        }
+        Assert.assertFalse(changed.isComplete());
+        Assert.assertNotEquals(same.getInputFingerprint(), changed.getInputFingerprint());
+        Assert.assertFalse(invalidated.isComplete());
+        Assert.assertEquals(same.getInputFingerprint(), invalidated.getInputFingerprint());
+    }
+
+    @Test
+    public void 지난주_배정_그대로_유지() {
+        //given
+        AutoScheduling autoScheduling = AutoSchedulingBuilder.of(rosterSnapshotService, cardsRepository, percentageRepository).build();
+        List<ArrayList<ResultScheduling>> previousWeek = autoScheduling.runWeekAlgorithm(userCode, userCurrentTime, hopeTimeList, AutoScheduling.DAYS_OF_WEEK);
+        Map<Integer, List<Integer>> previousWeekBySlot = new HashMap<>();
+        int previousCount = 0;
+        for (int day = 0; day < AutoScheduling.DAYS_OF_WEEK; day++) {
+            for (ResultScheduling result : previousWeek.get(day)) {
+                previousWeekBySlot.computeIfAbsent(day * 24 + result.getStartTime(), key -> new ArrayList<>()).add(result.getUserCode());
+                previousCount++;
+            }
+        }
+
+        //when
+        SchedulingContext context = autoScheduling.prepareWeek(userCode, userCurrentTime, hopeTimeList, AutoScheduling.DAYS_OF_WEEK, previousWeekBySlot);
+        autoScheduling.solve(context, Deadline.NONE);
+        List<ArrayList<ResultScheduling>> weekResults = autoScheduling.results(context);
+
+        //then
+        Assert.assertEquals(previousCount, context.getNumOfWarmStartKept());
+        for (int day = 0; day < AutoScheduling.DAYS_OF_WEEK; day++) {
+            for (ResultScheduling result : weekResults.get(day)) {
+                Assert.assertTrue(previousWeekBySlot.get(day * 24 + result.getStartTime()).contains(result.getUserCode()));
+            }
+            Assert.assertEquals(previousWeek.get(day).size(), weekResults.get(day).size());
+        }
+    }
+
+    @Test
+    public void 시간대별_결과_바로_전달() {
+        //given
+        AutoScheduling autoScheduling = AutoSchedulingBuilder.of(rosterSnapshotService, cardsRepository, percentageRepository).build();
+        SchedulingContext context = autoScheduling.prepareWeek(userCode, userCurrentTime, hopeTimeList, AutoScheduling.DAYS_OF_WEEK);
+        List<HopeTime> bands = new ArrayList<>();
+        List<Integer> streamedPerDay = new ArrayList<>(Collections.nCopies(AutoScheduling.DAYS_OF_WEEK, 0));
+
+        //when
+        autoScheduling.solve(context, Deadline.NONE, (day, hopeTime, results) -> {
+            Assert.assertEquals(bands.size() / 4, day);      // 요일 순서대로, 요일마다 시간대 4개
+            bands.add(hopeTime);
+            streamedPerDay.set(day, streamedPerDay.get(day) + results.size());
+        });
+
+        //then
+        Assert.assertEquals(AutoScheduling.DAYS_OF_WEEK * 4, bands.size());
+        Assert.assertEquals(Arrays.asList(HopeTime.MORNING, HopeTime.AFTERNOON, HopeTime.EVENING, HopeTime.DAWN), bands.subList(0, 4));
+        List<ArrayList<ResultScheduling>> weekResults = autoScheduling.results(context);
+        for (int day = 0; day < AutoScheduling.DAYS_OF_WEEK; day++) {
+            Assert.assertEquals(weekResults.get(day).size(), (int) streamedPerDay.get(day));
+        }
+
+        List<HopeTime> replayed = new ArrayList<>();
+        autoScheduling.replayBands(context, (day, hopeTime, results) -> replayed.add(hopeTime));
+        Assert.assertEquals(bands, replayed);
+    }
+
+    @Test
+    public void 제한_시간_초과후_이어서_배정() {
+        //given
+        AutoScheduling autoScheduling = AutoSchedulingBuilder.of(rosterSnapshotService, cardsRepository, percentageRepository).build();
+        List<ArrayList<ResultScheduling>> expected = autoScheduling.runWeekAlgorithm(userCode, userCurrentTime, hopeTimeList, AutoScheduling.DAYS_OF_WEEK);
+        SchedulingContext context = autoScheduling.prepareWeek(userCode, userCurrentTime, hopeTimeList, AutoScheduling.DAYS_OF_WEEK);
+
+        //when
+        boolean completeBeforeResume = autoScheduling.solve(context, Deadline.afterMillis(0));
+        SchedulingCoverage partial = autoScheduling.coverage(context);
+        boolean completeAfterResume = autoScheduling.solve(context, Deadline.NONE);
+        SchedulingCoverage coverage = autoScheduling.coverage(context);
+
+        //then
+        Assert.assertFalse(completeBeforeResume);
+        Assert.assertFalse(partial.isComplete());
+        Assert.assertEquals(0, partial.totalFilled());
+        Assert.assertEquals(partial.totalRequired(), coverage.totalRequired());
+
+        Assert.assertTrue(completeAfterResume);
+        Assert.assertTrue(coverage.isComplete());
+        List<ArrayList<ResultScheduling>> actual = autoScheduling.results(context);
+        int filled = 0;
+        for (int day = 0; day < AutoScheduling.DAYS_OF_WEEK; day++) {
+            Assert.assertEquals(expected.get(day).size(), actual.get(day).size());
+            for (int i = 0; i < expected.get(day).size(); i++) {
+                Assert.assertEquals(expected.get(day).get(i).getUserCode(), actual.get(day).get(i).getUserCode());
+            }
+            filled += actual.get(day).size();
+        }
+        Assert.assertEquals(filled, coverage.totalFilled());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void 애플리케이션은_한_시간_슬롯으로만_시작() {
+        AutoScheduling autoScheduling = AutoSchedulingBuilder.of(rosterSnapshotService, cardsRepository, percentageRepository)
+                .slotMinutes(30)
+                .build();
+
+        autoScheduling.checkSlotMinutesForCalendar();
+    }
+}
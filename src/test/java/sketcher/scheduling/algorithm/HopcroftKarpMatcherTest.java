@@ -0,0 +1,60 @@
+package sketcher.scheduling.algorithm;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static sketcher.scheduling.algorithm.ManagerFixture.manager;
+
+public class HopcroftKarpMatcherTest {
+
+    @Test
+    public void 동시간대_배정_매니저_재배치() {
+        //given
+        Manager m3 = manager(0, 3, 1);
+        Manager m1 = manager(1, 1, 2);
+        List<Manager> managerList = new ArrayList<>();
+        managerList.add(m3);
+        managerList.add(m1);
+
+        Schedule normal = new Schedule(1, 10, 1, false);
+        Schedule fixed = new Schedule(2, 10, 3, true);
+        List<Schedule> scheduleList = new ArrayList<>();
+        scheduleList.add(normal);
+        scheduleList.add(fixed);
+
+        //when
+        int count = MatchingEngineType.HOPCROFT_KARP.create().match(scheduleList, managerList);
+
+        //then
+        Assert.assertEquals(2, count);
+        Assert.assertEquals(Collections.singletonList(m3), fixed.getManagers());
+        Assert.assertEquals(Collections.singletonList(m1), normal.getManagers());
+    }
+
+    @Test
+    public void 하루_배정_시간_상한() {
+        //given
+        Manager manager = manager(0, 2, 1);
+        List<Manager> managerList = new ArrayList<>();
+        managerList.add(manager);
+
+        List<Schedule> scheduleList = new ArrayList<>();
+        for (int time = 6; time < 12; time++) {
+            scheduleList.add(new Schedule(time, time, 2, false));
+        }
+
+        //when
+        MatchingEngine engine = MatchingEngineType.HOPCROFT_KARP.create();
+        int count = engine.match(scheduleList, managerList);
+
+        //then : 상한으로 제외된 경우는 M3 조건 제외로 세지 않음
+        Assert.assertEquals(Manager.DAY_ASSIGN_LIMIT, count);
+        Assert.assertEquals(Manager.DAY_ASSIGN_LIMIT, (int) manager.getDayAssignTime());
+        Assert.assertTrue(engine.getStats().getRejectedByAssignLimit() > 0);
+        Assert.assertEquals(0, engine.getStats().getRejectedByM3Only());
+    }
+}
@@ -0,0 +1,116 @@
+package sketcher.scheduling.algorithm;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static sketcher.scheduling.algorithm.ManagerFixture.assign;
+import static sketcher.scheduling.algorithm.ManagerFixture.manager;
+
+public class IterativeAugmentingPathMatcherTest {
+
+    @Test
+    public void 재귀_탐색과_같은_매칭_결과() {
+        for (int seed = 0; seed < 200; seed++) {
+            //given
+            List<Manager> recursiveManagers = randomManagers(new Random(seed));
+            List<Manager> iterativeManagers = randomManagers(new Random(seed));
+            List<List<Schedule>> recursiveBands = randomBands(new Random(seed + 10_000));
+            List<List<Schedule>> iterativeBands = randomBands(new Random(seed + 10_000));
+
+            //when
+            MatchingEngine recursive = new AugmentingPathMatcher();
+            MatchingEngine iterative = new IterativeAugmentingPathMatcher();
+            for (int band = 0; band < recursiveBands.size(); band++) {
+                int recursiveCount = recursive.match(recursiveBands.get(band), recursiveManagers);
+                int iterativeCount = iterative.match(iterativeBands.get(band), iterativeManagers);
+                Assert.assertEquals("seed=" + seed, recursiveCount, iterativeCount);
+            }
+
+            //then
+            for (int band = 0; band < recursiveBands.size(); band++) {
+                List<Schedule> expected = recursiveBands.get(band);
+                List<Schedule> actual = iterativeBands.get(band);
+                for (int i = 0; i < expected.size(); i++) {
+                    Assert.assertEquals("seed=" + seed, codeOf(expected.get(i)), codeOf(actual.get(i)));
+                }
+            }
+            for (int i = 0; i < recursiveManagers.size(); i++) {
+                Assert.assertEquals(recursiveManagers.get(i).getTotalAssignTime(), iterativeManagers.get(i).getTotalAssignTime());
+                Assert.assertEquals(recursiveManagers.get(i).getDayAssignTime(), iterativeManagers.get(i).getDayAssignTime());
+            }
+        }
+    }
+
+    @Test
+    public void 동시간대_배정_매니저가_많아도_스택_오버플로우_없음() {
+        //given : 매니저 0 ~ n-2 가 같은 시간에 이미 배정돼 있고 (상한 도달), 우선순위 마지막 매니저만 비어 있음
+        int size = 20_000;
+        List<Manager> managerList = new ArrayList<>();
+        List<Schedule> scheduleList = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (i < size - 1) {
+                Manager manager = manager(i, 1, 1, Manager.TOTAL_ASSIGN_LIMIT);
+                Schedule assigned = new Schedule(i + 1, 10, 1, false);
+                assign(manager, assigned);
+                scheduleList.add(assigned);
+                managerList.add(manager);
+            } else {
+                managerList.add(manager(i, 1, 4));
+            }
+        }
+        Schedule newSchedule = new Schedule(size, 10, 1, false);
+        scheduleList.add(newSchedule);
+
+        //when : 매니저 0 ~ n-2 는 동시간대 배정으로 건너뛰고 마지막 매니저까지 탐색
+        int count = new IterativeAugmentingPathMatcher().match(scheduleList, managerList);
+
+        //then : 기존 좌석은 그대로, 새 스케줄은 비어 있던 매니저에게
+        Assert.assertEquals(1, count);
+        Assert.assertEquals(Collections.singletonList(managerList.get(size - 1)), newSchedule.getManagers());
+        Assert.assertEquals(Collections.singletonList(managerList.get(0)), scheduleList.get(0).getManagers());
+        Assert.assertEquals(Collections.singletonList(managerList.get(size - 2)), scheduleList.get(size - 2).getManagers());
+    }
+
+    private List<Integer> codeOf(Schedule schedule) {
+        List<Integer> codes = new ArrayList<>();
+        for (Manager manager : schedule.getManagers()) {
+            codes.add(manager.getCode());
+        }
+        return codes;
+    }
+
+    private List<Manager> randomManagers(Random random) {
+        List<Manager> managerList = new ArrayList<>();
+        int size = 5 + random.nextInt(40);
+        for (int i = 0; i < size; i++) {
+            managerList.add(manager(i, 1 + random.nextInt(3), 1 + random.nextInt(4), random.nextInt(Manager.TOTAL_ASSIGN_LIMIT)));
+        }
+        return managerList;
+    }
+
+    private List<List<Schedule>> randomBands(Random random) {
+        List<List<Schedule>> bands = new ArrayList<>();
+        int id = 0;
+        for (int band = 0; band < 4; band++) {
+            List<Schedule> scheduleList = new ArrayList<>();
+            for (int time = band * 6; time < band * 6 + 6; time++) {
+                int weight = 1 + random.nextInt(3);
+                int numOfFixed = weight == 3 ? random.nextInt(3) : 0;
+                int numOfNodes = random.nextInt(12);
+                if (numOfFixed > 0) {
+                    scheduleList.add(new Schedule(++id, time, weight, true, numOfFixed));
+                }
+                if (numOfNodes > 0) {
+                    scheduleList.add(new Schedule(++id, time, weight, false, numOfNodes));
+                }
+            }
+            bands.add(scheduleList);
+        }
+        return bands;
+    }
+}
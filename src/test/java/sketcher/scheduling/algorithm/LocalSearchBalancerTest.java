@@ -0,0 +1,138 @@
+package sketcher.scheduling.algorithm;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static sketcher.scheduling.algorithm.ManagerFixture.assign;
+import static sketcher.scheduling.algorithm.ManagerFixture.manager;
+
+public class LocalSearchBalancerTest {
+
+    @Test
+    public void 배정_시간_분산_감소() {
+        //given : 배정 시간이 많은 매니저에게 스케줄이 몰려 있음
+        List<Manager> managerList = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            managerList.add(manager(i, 2, 1, i < 3 ? 7 : 0));
+        }
+        List<Schedule> scheduleList = new ArrayList<>();
+        int id = 0;
+        for (int time = 6; time < 9; time++) {
+            for (int i = 0; i < 3; i++) {
+                Schedule schedule = new Schedule(++id, time, 2, false);
+                assign(managerList.get(i), schedule);
+                scheduleList.add(schedule);
+            }
+        }
+        long before = sumOfSquares(managerList);
+
+        //when
+        long reduced = new LocalSearchBalancer(20000).balance(scheduleList, managerList, Deadline.NONE);
+
+        //then
+        Assert.assertTrue(reduced > 0);
+        Assert.assertEquals(before - reduced, sumOfSquares(managerList));
+        assertConstraints(scheduleList, managerList);
+        for (Schedule schedule : scheduleList) {
+            Assert.assertFalse(schedule.hasRoom());
+        }
+    }
+
+    @Test
+    public void M3_고정_좌석과_이어받은_좌석은_옮기지_않음() {
+        //given : M3 매니저 한 명에게 M3 고정 스케줄, 지난주에서 이어받은 스케줄, 일반 스케줄이 몰려 있고 나머지 매니저는 비어 있음
+        Manager m3 = manager(0, 3, 1, 7);
+        List<Manager> managerList = new ArrayList<>();
+        managerList.add(m3);
+        for (int i = 1; i < 6; i++) {
+            managerList.add(manager(i, 1, 1, 0));
+        }
+        Schedule fixed = new Schedule(1, 6, 3, true);
+        Schedule pinned = new Schedule(2, 7, 1, false);
+        Schedule normal = new Schedule(3, 8, 1, false);
+        assign(m3, fixed);
+        assign(m3, pinned);
+        m3.pin(pinned.getSlot());
+        assign(m3, normal);
+        List<Schedule> scheduleList = new ArrayList<>(Arrays.asList(fixed, pinned, normal));
+
+        //when
+        long reduced = new LocalSearchBalancer(20000).balance(scheduleList, managerList, Deadline.NONE);
+
+        //then : 일반 스케줄만 비어 있던 (우선순위가 낮은) 매니저에게 넘어감
+        Assert.assertTrue(reduced > 0);
+        Assert.assertEquals(Collections.singletonList(m3), fixed.getManagers());
+        Assert.assertEquals(Collections.singletonList(m3), pinned.getManagers());
+        Assert.assertNotSame(m3, normal.getManagers().get(0));
+        assertConstraints(scheduleList, managerList);
+    }
+
+    @Test
+    public void 무작위_배정_제약_조건_유지() {
+        Random random = new Random(3);
+        for (int round = 0; round < 50; round++) {
+            //given
+            List<Manager> managerList = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                managerList.add(manager(i, 1 + random.nextInt(3), 1, random.nextInt(Manager.TOTAL_ASSIGN_LIMIT)));
+            }
+            List<Schedule> scheduleList = new ArrayList<>();
+            int id = 0;
+            for (int time = 12; time < 18; time++) {
+                int weight = 1 + random.nextInt(3);
+                if (weight == 3) {
+                    scheduleList.add(new Schedule(++id, time, weight, true, 1));
+                }
+                scheduleList.add(new Schedule(++id, time, weight, false, 1 + random.nextInt(5)));
+            }
+            new AugmentingPathMatcher().match(scheduleList, managerList);
+            int matched = 0;
+            for (Schedule schedule : scheduleList) {
+                matched += schedule.getManagers().size();
+            }
+            long before = sumOfSquares(managerList);
+
+            //when
+            new LocalSearchBalancer(2000).balance(scheduleList, managerList, Deadline.NONE);
+
+            //then
+            Assert.assertTrue(sumOfSquares(managerList) <= before);
+            assertConstraints(scheduleList, managerList);
+            int matchedAfter = 0;
+            for (Schedule schedule : scheduleList) {
+                matchedAfter += schedule.getManagers().size();
+            }
+            Assert.assertEquals(matched, matchedAfter);
+        }
+    }
+
+    private void assertConstraints(List<Schedule> scheduleList, List<Manager> managerList) {
+        for (Manager manager : managerList) {
+            Assert.assertTrue(manager.getDayAssignTime() <= Manager.DAY_ASSIGN_LIMIT);
+            Assert.assertTrue(manager.getTotalAssignTime() <= Manager.TOTAL_ASSIGN_LIMIT);
+        }
+        for (Schedule schedule : scheduleList) {
+            Assert.assertTrue(schedule.getManagers().size() <= schedule.getCapacity());
+            for (Manager manager : schedule.getManagers()) {
+                Assert.assertSame(schedule, manager.findScheduleBySlot(schedule.getSlot()));
+                if (schedule.isManagerWeightFlag()) {
+                    Assert.assertEquals(3, (int) manager.getWeight());
+                }
+            }
+        }
+    }
+
+    private long sumOfSquares(List<Manager> managerList) {
+        long sum = 0;
+        for (Manager manager : managerList) {
+            sum += (long) manager.getTotalAssignTime() * manager.getTotalAssignTime();
+        }
+        return sum;
+    }
+}
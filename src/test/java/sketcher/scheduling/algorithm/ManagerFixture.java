@@ -0,0 +1,33 @@
+package sketcher.scheduling.algorithm;
+
+/**
+ * 매칭 엔진 / 지역 탐색 테스트용 매니저, 배정 생성
+ * 매니저 코드는 index + 1 로 정한다.
+ */
+public class ManagerFixture {
+
+    private ManagerFixture() {
+    }
+
+    public static Manager manager(int index, int weight, int hopeTimeCount) {
+        return manager(index, weight, hopeTimeCount, 0);
+    }
+
+    public static Manager manager(int index, int weight, int hopeTimeCount, int totalAssignTime) {
+        Manager manager = new Manager();
+        manager.setIndex(index);
+        manager.setCode(index + 1);
+        manager.setWeight(weight);
+        manager.setHopeTimeCount(hopeTimeCount);
+        manager.setTotalAssignTime(totalAssignTime);
+        return manager;
+    }
+
+    /**
+     * 매칭 엔진을 거치지 않고 매니저를 스케줄에 바로 배정
+     */
+    public static void assign(Manager manager, Schedule schedule) {
+        manager.updateAssignScheduleList(null, schedule);
+        schedule.assign(manager);
+    }
+}
@@ -0,0 +1,38 @@
+package sketcher.scheduling.algorithm;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static sketcher.scheduling.algorithm.ManagerFixture.manager;
+
+public class ManagerPriorityTest {
+
+    @Test
+    public void 배정_시간_변경후_순서_전체정렬과_동일() {
+        //given
+        Random random = new Random(7);
+        List<Manager> managerList = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            managerList.add(manager(i, 1 + random.nextInt(3), 1 + random.nextInt(4), random.nextInt(5)));
+        }
+        ManagerPriority managerPriority = new ManagerPriority(managerList);
+
+        //when
+        for (int i = 0; i < 500; i++) {
+            Manager manager = managerList.get(random.nextInt(managerList.size()));
+            manager.setTotalAssignTime(manager.getTotalAssignTime() + 1);
+            managerPriority.reposition(manager);
+        }
+
+        //then
+        AutoScheduling autoScheduling = AutoSchedulingBuilder.of(null, null, null).build();
+        for (int weight = 1; weight <= 3; weight++) {
+            List<Manager> sorted = autoScheduling.sortToPriority(new ArrayList<>(managerList), weight);
+            Assert.assertArrayEquals(sorted.toArray(), managerPriority.orderOf(weight));
+        }
+    }
+}
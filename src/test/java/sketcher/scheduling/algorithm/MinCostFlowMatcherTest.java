@@ -0,0 +1,122 @@
+package sketcher.scheduling.algorithm;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static sketcher.scheduling.algorithm.ManagerFixture.manager;
+
+public class MinCostFlowMatcherTest {
+
+    @Test
+    public void M3_고정_스케줄과_가중치_맞춤() {
+        //given
+        Manager m3 = manager(0, 3, 1, 0);
+        Manager m1 = manager(1, 1, 1, 0);
+        List<Manager> managerList = new ArrayList<>();
+        managerList.add(m1);
+        managerList.add(m3);
+
+        Schedule light = new Schedule(1, 10, 1, false);
+        Schedule fixed = new Schedule(2, 10, 3, true);
+        List<Schedule> scheduleList = new ArrayList<>();
+        scheduleList.add(light);
+        scheduleList.add(fixed);
+
+        //when
+        int count = MatchingEngineType.MIN_COST_FLOW.create().match(scheduleList, managerList);
+
+        //then
+        Assert.assertEquals(2, count);
+        Assert.assertEquals(Collections.singletonList(m3), fixed.getManagers());
+        Assert.assertEquals(Collections.singletonList(m1), light.getManagers());
+    }
+
+    @Test
+    public void 배정_시간이_적은_매니저_우선() {
+        //given
+        Manager busy = manager(0, 2, 1, 8);
+        Manager idle = manager(1, 2, 1, 0);
+        List<Manager> managerList = new ArrayList<>();
+        managerList.add(busy);
+        managerList.add(idle);
+
+        List<Schedule> scheduleList = new ArrayList<>();
+        scheduleList.add(new Schedule(1, 10, 2, false));
+        scheduleList.add(new Schedule(2, 11, 2, false));
+
+        //when
+        new MinCostFlowMatcher().match(scheduleList, managerList);
+
+        //then
+        Assert.assertEquals(Collections.singletonList(idle), scheduleList.get(0).getManagers());
+        Assert.assertEquals(Collections.singletonList(idle), scheduleList.get(1).getManagers());
+    }
+
+    @Test
+    public void 증가_경로_탐색보다_배정_수가_적지_않음() {
+        Random random = new Random(11);
+        for (int round = 0; round < 100; round++) {
+            //given
+            long seed = random.nextLong();
+            List<Manager> flowManagers = randomManagers(new Random(seed));
+            List<Manager> dfsManagers = randomManagers(new Random(seed));
+            List<Schedule> flowSchedules = randomSchedules(new Random(seed));
+            List<Schedule> dfsSchedules = randomSchedules(new Random(seed));
+
+            //when
+            int flowCount = new MinCostFlowMatcher().match(flowSchedules, flowManagers);
+            int dfsCount = new AugmentingPathMatcher().match(dfsSchedules, dfsManagers);
+
+            //then
+            Assert.assertTrue(flowCount >= dfsCount);
+            for (Manager manager : flowManagers) {
+                Assert.assertTrue(manager.getDayAssignTime() <= Manager.DAY_ASSIGN_LIMIT);
+                Assert.assertTrue(manager.getTotalAssignTime() <= Manager.TOTAL_ASSIGN_LIMIT);
+            }
+            int assigned = 0;
+            for (Schedule schedule : flowSchedules) {
+                Assert.assertTrue(schedule.getManagers().size() <= schedule.getCapacity());
+                for (Manager manager : schedule.getManagers()) {
+                    assigned++;
+                    Assert.assertSame(schedule, manager.findScheduleBySlot(schedule.getSlot()));
+                    if (schedule.isManagerWeightFlag()) {
+                        Assert.assertEquals(3, (int) manager.getWeight());
+                    }
+                }
+            }
+            Assert.assertEquals(flowCount, assigned);
+        }
+    }
+
+    private List<Manager> randomManagers(Random random) {
+        List<Manager> managerList = new ArrayList<>();
+        int size = 3 + random.nextInt(25);
+        for (int i = 0; i < size; i++) {
+            managerList.add(manager(i, 1 + random.nextInt(3), 1 + random.nextInt(4), random.nextInt(Manager.TOTAL_ASSIGN_LIMIT + 1)));
+        }
+        return managerList;
+    }
+
+    private List<Schedule> randomSchedules(Random random) {
+        random.nextInt();   // 매니저 생성과 난수 순서를 분리
+        List<Schedule> scheduleList = new ArrayList<>();
+        int id = 0;
+        for (int time = 18; time < 24; time++) {
+            int weight = 1 + random.nextInt(3);
+            int numOfNodes = random.nextInt(8);
+            int numOfFixed = weight == 3 ? Math.min(2, numOfNodes) : 0;
+            if (numOfFixed > 0) {
+                scheduleList.add(new Schedule(++id, time, weight, true, numOfFixed));
+            }
+            if (numOfNodes > numOfFixed) {
+                scheduleList.add(new Schedule(++id, time, weight, false, numOfNodes - numOfFixed));
+            }
+        }
+        return scheduleList;
+    }
+}
@@ -0,0 +1,33 @@
+package sketcher.scheduling.algorithm;
+
+import org.junit.Assert;
+import org.junit.Test;
+import sketcher.scheduling.object.HopeTime;
+
+import java.time.LocalDateTime;
+
+public class RosterSnapshotTest {
+
+    @Test
+    public void 희망시간대별_입사일_순서() {
+        //given
+        LocalDateTime base = LocalDateTime.of(2022, 3, 1, 9, 0);
+        RosterSnapshot snapshot = RosterSnapshot.builder()
+                .add(3, base.plusDays(2), HopeTime.MORNING.getStart_time())
+                .add(1, base.plusDays(5), HopeTime.MORNING.getStart_time())
+                .add(1, base.plusDays(5), HopeTime.DAWN.getStart_time())
+                .add(2, base, HopeTime.DAWN.getStart_time())
+                .add(4, base, HopeTime.MORNING.getStart_time())
+                .build();
+
+        //when
+        int[] morning = snapshot.codesByHopeTime(HopeTime.MORNING);
+        int[] dawn = snapshot.codesByHopeTime(HopeTime.DAWN);
+
+        //then
+        Assert.assertEquals(4, snapshot.size());
+        Assert.assertArrayEquals(new int[]{4, 3, 1}, morning);
+        Assert.assertArrayEquals(new int[]{2, 1}, dawn);
+        Assert.assertEquals(0, snapshot.codesByHopeTime(HopeTime.EVENING).length);
+    }
+}
@@ -0,0 +1,60 @@
+package sketcher.scheduling.algorithm;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import sketcher.scheduling.exception.SolverBusyException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class SolverPoolTest {
+
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    SolverPool solverPool = new SolverPool(1, 1, meterRegistry);
+    ExecutorService clients = Executors.newFixedThreadPool(2);
+
+    @After
+    public void tearDown() {
+        solverPool.shutdown();
+        clients.shutdownNow();
+    }
+
+    @Test
+    public void 대기열_초과시_거절() throws Exception {
+        //given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        clients.submit(() -> solverPool.solve(() -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        clients.submit(() -> solverPool.solve(() -> true));
+        while (meterRegistry.get(SolverPool.QUEUED).gauge().value() == 0) {
+            Thread.sleep(10);
+        }
+
+        //when
+        try {
+            solverPool.solve(() -> true);
+            Assert.fail("대기열이 가득 차면 SolverBusyException 이 발생해야 합니다.");
+        } catch (SolverBusyException e) {
+            //then
+            Assert.assertEquals(1, meterRegistry.get(SolverPool.REJECTED).counter().count(), 0);
+            Assert.assertEquals(1, meterRegistry.get(SolverPool.ACTIVE).gauge().value(), 0);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void 배정_결과_반환() {
+        Assert.assertEquals(Integer.valueOf(3), solverPool.solve(() -> 1 + 2));
+        Assert.assertEquals(1, meterRegistry.get(SolverPool.COMPLETED).counter().count(), 0);
+    }
+}
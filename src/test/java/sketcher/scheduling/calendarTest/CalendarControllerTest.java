@@ -1,33 +1,42 @@
 package sketcher.scheduling.calendarTest;
 
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
 import org.junit.Test;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.transaction.annotation.Transactional;
+import sketcher.scheduling.controller.CalendarController;
 import sketcher.scheduling.domain.ManagerAssignSchedule;
 import sketcher.scheduling.domain.Schedule;
 import sketcher.scheduling.domain.User;
 import sketcher.scheduling.dto.ManagerAssignScheduleDto;
 import sketcher.scheduling.dto.ScheduleUpdateReqDto;
 import sketcher.scheduling.dto.UserDto;
+import sketcher.scheduling.exception.InvalidCalendarRangeException;
 import sketcher.scheduling.service.ManagerAssignScheduleService;
 import sketcher.scheduling.service.ScheduleUpdateReqService;
 import sketcher.scheduling.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.NoSuchElementException;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.Assert.*;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static sketcher.scheduling.service.AssignScheduleFixture.assign;
 
 @SpringBootTest
 @RunWith(SpringRunner.class)
@@ -39,6 +48,8 @@ public class CalendarControllerTest {
     ManagerAssignScheduleService managerAssignScheduleService;
     @Autowired
     ScheduleUpdateReqService scheduleUpdateReqService;
+    @Autowired
+    CalendarController calendarController;
 
 
     @Test
@@ -130,6 +141,48 @@ public void deleteEvent() throws Exception {
 
     }
 
+    @Test
+    @Transactional
+    public void 보이는_기간의_이벤트만_조회() throws Exception {
+        // given
+        UserDto userDto = UserDto.builder()
+                .id("rangeEvent")
+                .authRole("MANAGER")
+                .password("1234")
+                .username("기간조회")
+                .userTel("1234-5678")
+                .build();
+        User user = userService.findById(userService.saveUser(userDto)).orElseThrow(() -> new Exception("해당 매니저가 없습니다."));
+
+        LocalDateTime weekStart = LocalDateTime.of(2022, 8, 1, 0, 0);
+        managerAssignScheduleService.saveAllManagerAssignSchedule(Arrays.asList(
+                assign(user, weekStart.minusHours(1), 2),            // 시작 전부터 걸쳐 있음
+                assign(user, weekStart.plusDays(3).plusHours(9), 3),
+                assign(user, weekStart.plusDays(7), 1),               // 범위 밖
+                assign(user, weekStart.minusDays(1).minusHours(3), 1), // 범위 밖
+                assign(user, weekStart.minusDays(2), 50)              // 하루보다 길게 걸쳐 있음
+        ));
+
+        // when
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        calendarController.showAllEvent("2022-08-01T00:00:00+09:00", "2022-08-08T00:00:00+09:00", response);
+
+        // then
+        JSONArray events = (JSONArray) new JSONParser().parse(response.getContentAsString());
+        List<String> starts = new ArrayList<>();
+        for (Object event : events) {
+            if ("기간조회".equals(((JSONObject) event).get("title"))) {
+                starts.add((String) ((JSONObject) event).get("start"));
+            }
+        }
+        assertThat(starts).containsExactlyInAnyOrder("2022-07-30T00:00:00", "2022-07-31T23:00:00", "2022-08-04T09:00:00");
+    }
+
+    @Test(expected = InvalidCalendarRangeException.class)
+    public void 너무_긴_기간_조회_거절() throws Exception {
+        calendarController.showAllEvent("2020-01-01", "2022-01-01", new MockHttpServletResponse());
+    }
+
 //    @Test
 //    @Transactional
 //    public void updateEvent() throws Exception {
@@ -0,0 +1,35 @@
+package sketcher.scheduling.service;
+
+import sketcher.scheduling.domain.User;
+import sketcher.scheduling.dto.ManagerAssignScheduleDto;
+import sketcher.scheduling.dto.UserDto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 배정 스케줄 테스트용 매니저 저장 / 배정 생성 (매니저 이름은 아이디와 같게 저장)
+ */
+public class AssignScheduleFixture {
+
+    private AssignScheduleFixture() {
+    }
+
+    public static User saveManager(UserService userService, String id) {
+        String userId = userService.saveUser(UserDto.builder()
+                .id(id)
+                .authRole("MANAGER")
+                .password("1234")
+                .username(id)
+                .userTel("010-1234-5678")
+                .build());
+        return userService.findById(userId).get();
+    }
+
+    public static ManagerAssignScheduleDto assign(User user, LocalDateTime start, int hours) {
+        return ManagerAssignScheduleDto.builder()
+                .user(user)
+                .scheduleDateTimeStart(start)
+                .scheduleDateTimeEnd(start.plusHours(hours))
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package sketcher.scheduling.service;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+import sketcher.scheduling.domain.User;
+import sketcher.scheduling.dto.ManagerAssignScheduleDto;
+import sketcher.scheduling.repository.ManagerAssignScheduleRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static sketcher.scheduling.service.AssignScheduleFixture.saveManager;
+
+@SpringBootTest
+@RunWith(SpringRunner.class)
+@Transactional
+public class ManagerAssignScheduleBulkSaveTest {
+
+    @Autowired
+    UserService userService;
+    @Autowired
+    ManagerAssignScheduleService managerAssignScheduleService;
+    @Autowired
+    ManagerAssignScheduleRepository managerAssignScheduleRepository;
+
+    @Test
+    public void 배정_스케줄_일괄_저장() {
+        //given
+        User userA = saveManager(userService, "bulkA");
+        User userB = saveManager(userService, "bulkB");
+        Map<Integer, User> usersByCode = userService.findAllByCode(Arrays.asList(userA.getCode(), userB.getCode(), -1));
+
+        LocalDateTime weekStart = LocalDateTime.of(2022, 8, 1, 0, 0);
+        List<ManagerAssignScheduleDto> dtos = new ArrayList<>();
+        for (int hour = 0; hour < 7 * 24; hour++) {
+            for (User user : usersByCode.values()) {
+                dtos.add(ManagerAssignScheduleDto.builder()
+                        .user(user)
+                        .scheduleDateTimeStart(weekStart.plusHours(hour))
+                        .scheduleDateTimeEnd(weekStart.plusHours(hour + 1))
+                        .build());
+            }
+        }
+        long before = managerAssignScheduleRepository.count();
+
+        //when
+        int saved = managerAssignScheduleService.saveAllManagerAssignSchedule(dtos);
+
+        //then
+        Assert.assertEquals(2, usersByCode.size());
+        Assert.assertEquals(2 * 7 * 24, saved);
+        Assert.assertEquals(before + saved, managerAssignScheduleRepository.count());
+        Assert.assertEquals(7 * 24, managerAssignScheduleRepository.findAfterByUserCode(userA.getCode(), weekStart).size());
+    }
+}
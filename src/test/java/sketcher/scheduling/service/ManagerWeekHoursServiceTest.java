@@ -0,0 +1,94 @@
+package sketcher.scheduling.service;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+import sketcher.scheduling.domain.ManagerAssignSchedule;
+import sketcher.scheduling.domain.User;
+import sketcher.scheduling.dto.ManagerAssignScheduleDto;
+import sketcher.scheduling.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static sketcher.scheduling.service.AssignScheduleFixture.assign;
+import static sketcher.scheduling.service.AssignScheduleFixture.saveManager;
+
+@SpringBootTest
+@RunWith(SpringRunner.class)
+@Transactional
+public class ManagerWeekHoursServiceTest {
+
+    @Autowired
+    UserService userService;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    ManagerAssignScheduleService managerAssignScheduleService;
+    @Autowired
+    ScheduleUpdateReqService scheduleUpdateReqService;
+    @Autowired
+    ManagerWeekHoursService managerWeekHoursService;
+
+    /* 월요일 */
+    final LocalDateTime weekStart = LocalDateTime.of(2022, 8, 1, 0, 0);
+    final LocalDateTime nextWeekStart = weekStart.plusWeeks(1);
+
+    @Test
+    public void 배정_저장_수정_삭제시_주_배정_시간_집계() {
+        //given
+        User user = saveManager(userService, "weekHoursA");
+
+        //when
+        Integer id = managerAssignScheduleService.saveManagerAssignSchedule(assign(user, weekStart.plusDays(2).plusHours(10), 3));
+        managerAssignScheduleService.saveAllManagerAssignSchedule(Arrays.asList(
+                assign(user, weekStart.plusHours(9), 2),
+                assign(user, nextWeekStart.plusHours(9), 4)));
+
+        //then
+        Assert.assertEquals(5, managerWeekHoursService.findHours(user.getCode(), weekStart.plusDays(6)));
+        Assert.assertEquals(4, managerWeekHoursService.findHours(user.getCode(), nextWeekStart));
+
+        //when : 다음 주로 옮기면서 1시간으로 줄임
+        managerAssignScheduleService.update(id, assign(user, nextWeekStart.plusHours(15), 1));
+
+        //then
+        Assert.assertEquals(2, managerWeekHoursService.findHours(user.getCode(), weekStart));
+        Assert.assertEquals(5, managerWeekHoursService.findHours(user.getCode(), nextWeekStart));
+
+        //when
+        managerAssignScheduleService.deleteById(id);
+
+        //then
+        Assert.assertEquals(4, managerWeekHoursService.findHours(user.getCode(), nextWeekStart));
+        Assert.assertEquals(Long.valueOf(2), managerWeekHoursService.findHoursByWeek(weekStart).get(user.getCode()));
+    }
+
+    @Test
+    public void 수정_요청_승인시_집계_반영_후_재생성과_일치() {
+        //given
+        User user = saveManager(userService, "weekHoursB");
+        Integer id = managerAssignScheduleService.saveManagerAssignSchedule(assign(user, weekStart.plusHours(10), 2));
+        ManagerAssignSchedule assignSchedule = managerAssignScheduleService.findById(id).get();
+        Integer reqId = scheduleUpdateReqService.saveScheduleUpdateReq(assignSchedule, nextWeekStart.plusHours(10), nextWeekStart.plusHours(13));
+
+        //when
+        scheduleUpdateReqService.acceptReq(reqId);
+
+        //then
+        Assert.assertEquals(0, managerWeekHoursService.findHours(user.getCode(), weekStart));
+        Assert.assertEquals(3, managerWeekHoursService.findHours(user.getCode(), nextWeekStart));
+
+        //when : 배정 스케줄 전체에서 다시 만들어도 같은 값
+        userRepository.flush();     // 승인한 시간 변경을 DB 에 반영
+        managerWeekHoursService.rebuild();
+
+        //then
+        Assert.assertEquals(0, managerWeekHoursService.findHours(user.getCode(), weekStart));
+        Assert.assertEquals(3, managerWeekHoursService.findHours(user.getCode(), nextWeekStart));
+    }
+}
@@ -0,0 +1,90 @@
+package sketcher.scheduling.service;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+import sketcher.scheduling.config.LocalDateTimeConfig;
+import sketcher.scheduling.domain.User;
+import sketcher.scheduling.dto.ManagerAssignScheduleDto;
+import sketcher.scheduling.dto.ManagerWorkHoursDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static sketcher.scheduling.service.AssignScheduleFixture.assign;
+import static sketcher.scheduling.service.AssignScheduleFixture.saveManager;
+
+@SpringBootTest
+@RunWith(SpringRunner.class)
+@Transactional
+public class ManagerWorkHoursTest {
+
+    @Autowired
+    UserService userService;
+    @Autowired
+    ManagerAssignScheduleService managerAssignScheduleService;
+    @Autowired
+    ManagerWeekHoursService managerWeekHoursService;
+
+    @Test
+    public void 주별_근무_시간_한번에_집계() {
+        //given
+        User user = saveManager(userService, "workHours");
+
+        LocalDateTimeConfig ldt = new LocalDateTimeConfig();
+        LocalDateTime weekStart = ldt.getWeekStart(ldt.getLocalTimeNooN());
+        LocalDateTime now = LocalDateTime.now();
+        List<ManagerAssignScheduleDto> dtos = new ArrayList<>();
+        dtos.add(assign(user, weekStart.minusWeeks(1).plusHours(10), 3));  // 1주 전 3시간
+        dtos.add(assign(user, weekStart.minusWeeks(2).plusHours(10), 2));  // 2주 전 2시간
+        dtos.add(assign(user, weekStart.minusWeeks(3).plusHours(10), 1));  // 3주 전 1시간
+        dtos.add(assign(user, weekStart.minusWeeks(4).plusHours(10), 5));  // 집계 범위 밖
+        dtos.add(assign(user, now.minusHours(2).minusMinutes(1), 2));      // 이번 주 근무
+        dtos.add(assign(user, now.plusMinutes(1), 1));                     // 잔업
+        managerAssignScheduleService.saveAllManagerAssignSchedule(dtos);
+
+        //when
+        ManagerWorkHoursDto workHours = managerAssignScheduleService.workHoursByUserId(user.getId());
+
+        //then
+        Assert.assertEquals(Long.valueOf(3), workHours.getMonthWork().get(1));
+        Assert.assertEquals(Long.valueOf(2), workHours.getMonthWork().get(2));
+        Assert.assertEquals(Long.valueOf(1), workHours.getMonthWork().get(3));
+        Assert.assertEquals(now.minusHours(2).minusMinutes(1).isBefore(weekStart) ? 0 : 2, workHours.getWeekWork());
+        Assert.assertEquals(now.plusHours(1).plusMinutes(1).isAfter(weekStart.plusWeeks(1)) ? 0 : 1, workHours.getWeekRemain());
+    }
+
+    @Test
+    public void 주_안_매니저별_배정_시간_합산() {
+        //given
+        User userA = saveManager(userService, "rangeHoursA");
+        User userB = saveManager(userService, "rangeHoursB");
+        LocalDateTime weekStart = LocalDateTime.of(2022, 8, 1, 0, 0);
+        List<ManagerAssignScheduleDto> dtos = new ArrayList<>();
+        dtos.add(assign(userA, weekStart.plusHours(9), 3));
+        dtos.add(assign(userA, weekStart.plusDays(6).plusHours(20), 2));
+        dtos.add(assign(userA, weekStart.plusDays(7), 4));             // 다음 주 (범위 밖)
+        dtos.add(assign(userB, weekStart.minusHours(1), 1));            // 지난 주 (범위 밖)
+        managerAssignScheduleService.saveAllManagerAssignSchedule(dtos);
+
+        //when
+        Map<Integer, Long> hoursByCode = managerWeekHoursService.findHoursByWeek(weekStart.plusDays(3));
+
+        //then
+        Assert.assertEquals(Long.valueOf(5), hoursByCode.get(userA.getCode()));
+        Assert.assertFalse(hoursByCode.containsKey(userB.getCode()));
+
+        //when : 전체 기간
+        Map<Integer, Long> totalHoursByCode = managerWeekHoursService.findTotalHours();
+
+        //then
+        Assert.assertEquals(Long.valueOf(9), totalHoursByCode.get(userA.getCode()));
+        Assert.assertEquals(Long.valueOf(1), totalHoursByCode.get(userB.getCode()));
+    }
+}